@@ -2,21 +2,32 @@ package org.example;
 
 import org.example.factory.CarFilterFactory;
 import org.example.factory.CarSortFactory;
+import org.example.fx.FxRateTable;
+import org.example.ingest.CarDeduplicator;
+import org.example.metrics.MetricsRegistry;
+import org.example.metrics.TimedFileParser;
+import org.example.metrics.TimedOutputFormatter;
 import org.example.model.Car;
 import org.example.model.CarBrand;
+import org.example.model.FxRate;
 import org.example.output.JsonFormatter;
 import org.example.output.OutputFormatter;
 import org.example.output.TableFormatter;
 import org.example.output.XmlFormatter;
 import org.example.parser.CsvParser;
+import org.example.parser.FileParser;
+import org.example.parser.FxRateParser;
 import org.example.parser.XmlParser;
 import org.example.repository.BrandRepository;
-import org.example.repository.CarRepository;
 import org.example.repository.InMemoryBrandRepository;
 import org.example.repository.InMemoryCarRepository;
 import org.example.service.CarService;
+import org.example.service.TimedCarService;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -28,12 +39,25 @@ public class App {
 
     private final CarService carService;
 
+    private final MetricsRegistry metrics;
+
     private final Scanner scanner;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     public App(CarService carService,
                OutputFormatter formatter) {
+        this(carService, formatter, null);
+    }
+
+    /**
+     * @param metrics registry that formatters chosen from the menu are timed
+     *                in, or {@code null} to leave them untimed
+     */
+    public App(CarService carService,
+               OutputFormatter formatter,
+               MetricsRegistry metrics) {
         this.formatter = formatter;
+        this.metrics = metrics;
         this.scanner = new Scanner(System.in);
         showFormatMenu();
         this.carService= carService;
@@ -52,7 +76,8 @@ public class App {
                     case 3 -> sortByReleaseDate();
                     case 4 -> sortByPrice();
                     case 5 -> sortByTypeCurrency();
-                    case 6 -> { return; }
+                    case 6 -> sortByCheapestPrice();
+                    case 7 -> { return; }
                     default -> System.out.println("Invalid option");
                 }
             } catch (Exception e) {
@@ -68,11 +93,12 @@ public class App {
         System.out.println("3. Sort by Release Date");
         System.out.println("4. Sort by Price");
         System.out.println("5. Sort by Type-Specific Currency");
-        System.out.println("6. Exit");
+        System.out.println("6. Sort by Cheapest Price (any currency)");
+        System.out.println("7. Exit");
         System.out.print("Select option: ");
     }
 
-    private void filterByBrandAndPrice() {
+    private void filterByBrandAndPrice() throws IOException {
         System.out.print("Enter brand: ");
         String brand = scanner.nextLine();
         System.out.print("Enter min price: ");
@@ -81,10 +107,10 @@ public class App {
         BigDecimal maxPrice = new BigDecimal(scanner.nextLine());
         List<Car> results = carService.filterCarsByBrandAndPrice(brand, minPrice, maxPrice);
         System.out.println("\nFiltered Results:");
-        System.out.println(formatter.format(results));
+        printResults(results);
     }
 
-    private void filterByBrandAndDate() {
+    private void filterByBrandAndDate() throws IOException {
         System.out.print("Enter brand: ");
         String brand = scanner.nextLine();
         System.out.print("Enter start date (yyyy-MM-dd): ");
@@ -93,32 +119,49 @@ public class App {
         LocalDate endDate = LocalDate.parse(scanner.nextLine(), DATE_FORMAT);
         List<Car> results = carService.filterByBrandAndReleaseDate(brand, startDate, endDate);
         System.out.println("\nFiltered Results:");
-        System.out.println(formatter.format(results));
+        printResults(results);
     }
 
-    private void sortByReleaseDate() {
+    private void sortByReleaseDate() throws IOException {
         List<Car> results = carService.sortCarsByReleaseDate();
         System.out.println("\nSorted by Release Date (newest first):");
-        System.out.println(formatter.format(results));
+        printResults(results);
     }
 
-    private void sortByPrice() {
+    private void sortByPrice() throws IOException {
         List<Car> results = carService.sortCarsByPrice();
         System.out.println("\nSorted by Price (highest first):");
-        System.out.println(formatter.format(results));
+        printResults(results);
     }
 
-    private void sortByTypeCurrency() {
+    private void sortByTypeCurrency() throws IOException {
 
         List<Car> results = carService.sortCarsByTypeAndCurrency();
         System.out.println("\nSorted by Type-Specific Currency:");
-        System.out.println(formatter.format(results));
+        printResults(results);
     }
 
+    private void sortByCheapestPrice() throws IOException {
+        List<Car> results = carService.sortCarsByCheapestPrice();
+        System.out.println("\nSorted by Cheapest Price in any currency (lowest first):");
+        printResults(results);
+    }
+
+    /**
+     * Streams the formatted results to the console instead of building the
+     * whole output as one String first.
+     */
+    private void printResults(List<Car> results) throws IOException {
+        Writer console = new OutputStreamWriter(System.out, System.out.charset());
+        formatter.write(results, console);
+        console.flush();
+        System.out.println();
+    }
 
     public static void main(String[] args) throws Exception {
-        CsvParser csvParser = new CsvParser();
-        XmlParser xmlParser = new XmlParser();
+        MetricsRegistry metrics = MetricsRegistry.platform();
+        FileParser<CarBrand> csvParser = new TimedFileParser<>(new CsvParser(), metrics.operation("CsvParser.parse"));
+        FileParser<Car> xmlParser = new TimedFileParser<>(new XmlParser(), metrics.operation("XmlParser.parse"));
         File brandsFile = new File("src/main/resources/CarsBrand.csv");
         File carsFile = new File("src/main/resources/carsType.xml");
         if (!brandsFile.exists() || !carsFile.exists()) {
@@ -126,14 +169,22 @@ public class App {
             System.exit(1);
         }
         List<CarBrand> brands = csvParser.parse(brandsFile);
-        List<Car> cars = xmlParser.parse(carsFile);
+        CarDeduplicator deduplicator = new CarDeduplicator();
+        List<Car> cars = deduplicator.deduplicate(xmlParser.parse(carsFile));
+        System.out.println("Loaded cars: " + deduplicator.getStats());
         BrandRepository brandRepository = new InMemoryBrandRepository(brands);
-        CarRepository carRepository = new InMemoryCarRepository(cars);
+        InMemoryCarRepository carRepository = new InMemoryCarRepository(cars);
+        File ratesFile = new File("src/main/resources/FxRates.csv");
+        if (ratesFile.exists()) {
+            FileParser<FxRate> fxRateParser =
+                    new TimedFileParser<>(new FxRateParser(), metrics.operation("FxRateParser.parse"));
+            carRepository.applyFxRates(FxRateTable.of("USD", fxRateParser.parse(ratesFile)));
+        }
         CarFilterFactory carFilterFactory = new CarFilterFactory(brandRepository);
         CarSortFactory carSortFactory = new CarSortFactory(brandRepository);
-        OutputFormatter formatter = new TableFormatter();
-        CarService carService= new CarService(carFilterFactory,carRepository,carSortFactory);
-        new App(carService,formatter).run();
+        OutputFormatter formatter = timed(new TableFormatter(), metrics);
+        CarService carService= new TimedCarService(carFilterFactory,carRepository,carSortFactory,metrics);
+        new App(carService,formatter,metrics).run();
     }
 
     private void showFormatMenu() {
@@ -149,9 +200,9 @@ public class App {
             if (!input.isEmpty()) {
                 int choice = Integer.parseInt(input);
                 switch (choice) {
-                    case 2 -> this.formatter = new JsonFormatter();
-                    case 3 -> this.formatter = new XmlFormatter();
-                    case 1 -> this.formatter = new TableFormatter();
+                    case 2 -> this.formatter = timed(new JsonFormatter(), metrics);
+                    case 3 -> this.formatter = timed(new XmlFormatter(), metrics);
+                    case 1 -> this.formatter = timed(new TableFormatter(), metrics);
                     default -> System.out.println("Invalid choice, keeping current format");
                 }
             }
@@ -161,8 +212,18 @@ public class App {
     }
 
     private String getCurrentFormatName() {
-        if (formatter instanceof JsonFormatter) return "JSON";
-        if (formatter instanceof XmlFormatter) return "XML";
+        OutputFormatter current = formatter instanceof TimedOutputFormatter timed ? timed.getDelegate() : formatter;
+        if (current instanceof JsonFormatter) return "JSON";
+        if (current instanceof XmlFormatter) return "XML";
         return "Table (default)";
     }
+
+    private static OutputFormatter timed(OutputFormatter formatter, MetricsRegistry metrics) {
+        if (metrics == null) {
+            return formatter;
+        }
+        String name = formatter.getClass().getSimpleName();
+        return new TimedOutputFormatter(formatter,
+                metrics.operation(name + ".format"), metrics.operation(name + ".write"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.example.analytics;
+
+import org.example.model.Car;
+
+import java.util.function.Function;
+
+/**
+ * Car attribute that price statistics are grouped by. Values that differ only
+ * in case belong to the same group.
+ */
+public enum GroupBy {
+    BRAND(Car::getBrand),
+    TYPE(Car::getType);
+
+    private final Function<Car, String> extractor;
+
+    GroupBy(Function<Car, String> extractor) {
+        this.extractor = extractor;
+    }
+
+    public String keyOf(Car car) {
+        return extractor.apply(car);
+    }
+}
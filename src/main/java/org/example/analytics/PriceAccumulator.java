@@ -0,0 +1,58 @@
+package org.example.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Mergeable running statistics for one group and currency. Mean and
+ * variance use Welford's update, and {@link #merge} uses Chan et al.'s
+ * pairwise combination, so partial results from parallel chunks combine
+ * without a second pass. Min and max stay exact.
+ */
+public class PriceAccumulator {
+    private long count;
+    private double mean;
+    private double sumOfSquaredDeviations;
+    private BigDecimal min;
+    private BigDecimal max;
+
+    public void add(BigDecimal price) {
+        double value = price.doubleValue();
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquaredDeviations += delta * (value - mean);
+        if (min == null || price.compareTo(min) < 0) {
+            min = price;
+        }
+        if (max == null || price.compareTo(max) > 0) {
+            max = price;
+        }
+    }
+
+    public PriceAccumulator merge(PriceAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            sumOfSquaredDeviations = other.sumOfSquaredDeviations;
+            min = other.min;
+            max = other.max;
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        sumOfSquaredDeviations += other.sumOfSquaredDeviations + delta * delta * count * other.count / total;
+        count = total;
+        min = other.min.compareTo(min) < 0 ? other.min : min;
+        max = other.max.compareTo(max) > 0 ? other.max : max;
+        return this;
+    }
+
+    public PriceStatistics toStatistics() {
+        double variance = count > 1 ? sumOfSquaredDeviations / (count - 1) : 0.0;
+        return new PriceStatistics(count, min, max, mean, variance);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.analytics;
+
+import org.example.model.Car;
+import org.example.repository.BrandKey;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+/**
+ * Computes per-group, per-currency price statistics in one parallel pass.
+ * Each fork-join chunk fills its own accumulators straight from the cars'
+ * price maps, and chunks are merged pairwise; no car is copied. Group
+ * values are compared case-insensitively, like the repository's indexes and
+ * sketches, and each group is reported under its first-seen spelling.
+ */
+public final class PriceAggregator {
+    private PriceAggregator() {
+    }
+
+    /**
+     * Returns group value to currency to statistics, both levels sorted.
+     * Null cars and cars without a value for {@code groupBy} are skipped.
+     */
+    public static Map<String, Map<String, PriceStatistics>> aggregate(List<Car> cars, GroupBy groupBy) {
+        Objects.requireNonNull(cars, "Car list cannot be null");
+        Objects.requireNonNull(groupBy, "Group by cannot be null");
+        // Ordered, so the left chunk of a merge holds the earlier spelling.
+        Map<String, Group> groups = cars.parallelStream()
+                .collect(Collector.of(
+                        HashMap::new,
+                        (partial, car) -> accumulate(partial, car, groupBy),
+                        PriceAggregator::merge));
+
+        Map<String, Map<String, PriceStatistics>> result = new TreeMap<>();
+        groups.values().forEach(group -> {
+            Map<String, PriceStatistics> statistics = new TreeMap<>();
+            group.currencies.forEach((currency, accumulator) -> statistics.put(currency, accumulator.toStatistics()));
+            result.put(group.name, Collections.unmodifiableMap(statistics));
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void accumulate(Map<String, Group> partial, Car car, GroupBy groupBy) {
+        if (car == null || car.getPrices() == null) {
+            return;
+        }
+        String name = groupBy.keyOf(car);
+        if (name == null) {
+            return;
+        }
+        Map<String, PriceAccumulator> currencies =
+                partial.computeIfAbsent(BrandKey.of(name), key -> new Group(name)).currencies;
+        for (Map.Entry<String, BigDecimal> price : car.getPrices().entrySet()) {
+            if (price.getKey() != null && price.getValue() != null) {
+                currencies.computeIfAbsent(price.getKey(), key -> new PriceAccumulator()).add(price.getValue());
+            }
+        }
+    }
+
+    private static Map<String, Group> merge(Map<String, Group> left, Map<String, Group> right) {
+        right.forEach((key, group) -> {
+            Map<String, PriceAccumulator> target = left.computeIfAbsent(key, k -> new Group(group.name)).currencies;
+            group.currencies.forEach((currency, accumulator) -> target.merge(currency, accumulator, PriceAccumulator::merge));
+        });
+        return left;
+    }
+
+    private static final class Group {
+        private final String name;
+        private final Map<String, PriceAccumulator> currencies = new HashMap<>();
+
+        private Group(String name) {
+            this.name = name;
+        }
+    }
+}
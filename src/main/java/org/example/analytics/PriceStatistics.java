@@ -0,0 +1,65 @@
+package org.example.analytics;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Price statistics of one group in one currency. Implements commons-math's
+ * {@link StatisticalSummary}; the variance is the bias-corrected sample
+ * variance, matching {@code SummaryStatistics}.
+ */
+public final class PriceStatistics implements StatisticalSummary {
+    private final long count;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final double mean;
+    private final double variance;
+
+    PriceStatistics(long count, BigDecimal minPrice, BigDecimal maxPrice, double mean, double variance) {
+        this.count = count;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.mean = mean;
+        this.variance = variance;
+    }
+
+    public BigDecimal getMinPrice() { return minPrice; }
+    public BigDecimal getMaxPrice() { return maxPrice; }
+
+    @Override public long getN() { return count; }
+    @Override public double getMean() { return mean; }
+    @Override public double getVariance() { return variance; }
+    @Override public double getStandardDeviation() { return Math.sqrt(variance); }
+    @Override public double getMin() { return minPrice == null ? Double.NaN : minPrice.doubleValue(); }
+    @Override public double getMax() { return maxPrice == null ? Double.NaN : maxPrice.doubleValue(); }
+    @Override public double getSum() { return mean * count; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PriceStatistics that)) return false;
+        return count == that.count &&
+                Double.compare(mean, that.mean) == 0 &&
+                Double.compare(variance, that.variance) == 0 &&
+                Objects.equals(minPrice, that.minPrice) &&
+                Objects.equals(maxPrice, that.maxPrice);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, minPrice, maxPrice, mean, variance);
+    }
+
+    @Override
+    public String toString() {
+        return "PriceStatistics{" +
+                "count=" + count +
+                ", min=" + minPrice +
+                ", max=" + maxPrice +
+                ", mean=" + mean +
+                ", standardDeviation=" + getStandardDeviation() +
+                '}';
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch (merging t-digest, Dunning &amp; Ertl). Values are
+ * buffered and periodically merged into at most about {@code compression}
+ * weighted centroids, sized by the arcsine scale function so the tails keep
+ * small centroids and p99 stays accurate. Memory is bounded by the
+ * compression regardless of how many values are added.
+ * <p>
+ * Not thread-safe; {@link #quantile(double)} may flush the buffer.
+ */
+public final class TDigest {
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private final double[] buffer;
+    private int buffered;
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10");
+        }
+        this.compression = compression;
+        this.buffer = new double[(int) Math.ceil(compression * 5)];
+    }
+
+    public TDigest copy() {
+        TDigest copy = new TDigest(compression);
+        System.arraycopy(buffer, 0, copy.buffer, 0, buffered);
+        copy.buffered = buffered;
+        copy.means = means;
+        copy.weights = weights;
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot add NaN to a digest");
+        }
+        buffer[buffered++] = value;
+        count++;
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+        if (buffered == buffer.length) {
+            flush();
+        }
+    }
+
+    public void merge(TDigest other) {
+        if (other.count == 0) {
+            return;
+        }
+        other.flush();
+        flush();
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        mergeSorted(other.means, other.weights, other.means.length);
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Estimates the value at quantile {@code q} by interpolating between
+     * centroid centres, and between the outer centroids and the exact
+     * min and max.
+     *
+     * @return the estimate, or {@code NaN} if the digest is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        flush();
+        if (means.length == 0) {
+            return Double.NaN;
+        }
+        if (means.length == 1) {
+            return means[0];
+        }
+        double index = q * count;
+        double firstHalf = weights[0] / 2;
+        if (index < firstHalf) {
+            return min + (means[0] - min) * index / firstHalf;
+        }
+        double cumulative = firstHalf;
+        for (int i = 0; i < means.length - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index <= cumulative + gap) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / gap;
+            }
+            cumulative += gap;
+        }
+        int last = means.length - 1;
+        double lastHalf = weights[last] / 2;
+        return means[last] + (max - means[last]) * Math.min(1, (index - cumulative) / lastHalf);
+    }
+
+    /** Merges buffered values into the centroids. */
+    public void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        double[] unitWeights = new double[buffered];
+        Arrays.fill(unitWeights, 1);
+        int pending = buffered;
+        buffered = 0;
+        mergeSorted(buffer, unitWeights, pending);
+    }
+
+    private void mergeSorted(double[] otherMeans, double[] otherWeights, int otherCount) {
+        int n = means.length + otherCount;
+        double[] mergedMeans = new double[n];
+        double[] mergedWeights = new double[n];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < n; k++) {
+            if (j >= otherCount || (i < means.length && means[i] <= otherMeans[j])) {
+                mergedMeans[k] = means[i];
+                mergedWeights[k] = weights[i++];
+            } else {
+                mergedMeans[k] = otherMeans[j];
+                mergedWeights[k] = otherWeights[j++];
+            }
+        }
+        compress(mergedMeans, mergedWeights, n);
+    }
+
+    private void compress(double[] sortedMeans, double[] sortedWeights, int n) {
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += sortedWeights[i];
+        }
+        double[] outMeans = new double[n];
+        double[] outWeights = new double[n];
+        int out = 0;
+        double mean = sortedMeans[0];
+        double weight = sortedWeights[0];
+        double before = 0;
+        double limit = weightLimit(before, total);
+        for (int i = 1; i < n; i++) {
+            if (before + weight + sortedWeights[i] <= limit) {
+                weight += sortedWeights[i];
+                mean += (sortedMeans[i] - mean) * sortedWeights[i] / weight;
+            } else {
+                outMeans[out] = mean;
+                outWeights[out++] = weight;
+                before += weight;
+                limit = weightLimit(before, total);
+                mean = sortedMeans[i];
+                weight = sortedWeights[i];
+            }
+        }
+        outMeans[out] = mean;
+        outWeights[out++] = weight;
+        means = Arrays.copyOf(outMeans, out);
+        weights = Arrays.copyOf(outWeights, out);
+    }
+
+    /** Largest cumulative weight the centroid starting at {@code before} may reach. */
+    private double weightLimit(double before, double total) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * before / total - 1) + 1;
+        double q = (Math.sin(Math.min(k * 2 * Math.PI / compression, Math.PI / 2)) + 1) / 2;
+        return total * q;
+    }
+}
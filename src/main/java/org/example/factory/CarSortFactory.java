@@ -1,27 +1,40 @@
 package org.example.factory;
 
 import org.example.repository.BrandRepository;
+import org.example.strategy.CompiledSortStrategy;
+import org.example.strategy.KeySorter;
 import org.example.strategy.PriceSortStrategy;
 import org.example.strategy.ReleaseDateSortStrategy;
+import org.example.strategy.SortSpec;
 import org.example.strategy.SortStrategy;
 import org.example.strategy.TypeCurrencySortStrategy;
 
 public class CarSortFactory {
     private final BrandRepository brandRepository;
+    private final KeySorter keySorter;
 
     public CarSortFactory(BrandRepository brandRepository) {
+        this(brandRepository, new KeySorter());
+    }
+
+    public CarSortFactory(BrandRepository brandRepository, KeySorter keySorter) {
         this.brandRepository = brandRepository;
+        this.keySorter = keySorter;
     }
 
     public SortStrategy createPriceSorter() {
-        return new PriceSortStrategy(brandRepository);
+        return new PriceSortStrategy(brandRepository, keySorter);
     }
 
     public SortStrategy createReleaseDateSorter() {
-        return new ReleaseDateSortStrategy(brandRepository);
+        return new ReleaseDateSortStrategy(brandRepository, keySorter);
     }
 
     public SortStrategy createTypeCurrencySorter() {
-        return new TypeCurrencySortStrategy(brandRepository);
+        return new TypeCurrencySortStrategy(brandRepository, keySorter);
+    }
+
+    public SortStrategy createSorter(SortSpec spec) {
+        return new CompiledSortStrategy(spec, brandRepository, keySorter);
     }
 }
\ No newline at end of file
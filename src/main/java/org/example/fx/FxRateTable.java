@@ -0,0 +1,103 @@
+package org.example.fx;
+
+import org.example.model.FxRate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable table of conversion rates into a single base currency. Converted
+ * prices are rounded half-even to whole minor units (cents) of the base
+ * currency, so normalized prices can be compared as plain longs.
+ */
+public final class FxRateTable {
+    /** Normalized value of a car that has no price in any known currency. */
+    public static final long NO_PRICE = Long.MAX_VALUE;
+    private static final int MINOR_UNIT_DIGITS = 2;
+
+    private final String baseCurrency;
+    private final Map<String, BigDecimal> rates;
+
+    private FxRateTable(String baseCurrency, Map<String, BigDecimal> rates) {
+        this.baseCurrency = baseCurrency;
+        this.rates = Collections.unmodifiableMap(rates);
+    }
+
+    public static FxRateTable of(String baseCurrency, List<FxRate> rates) {
+        Objects.requireNonNull(baseCurrency, "Base currency cannot be null");
+        Objects.requireNonNull(rates, "Rates cannot be null");
+        String base = baseCurrency.toUpperCase(Locale.ROOT);
+        Map<String, BigDecimal> rateMap = new HashMap<>();
+        for (FxRate rate : rates) {
+            rateMap.put(rate.getCurrency().toUpperCase(Locale.ROOT), rate.getRate());
+        }
+        rateMap.put(base, BigDecimal.ONE);
+        return new FxRateTable(base, rateMap);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public Optional<BigDecimal> toBase(BigDecimal amount, String currency) {
+        if (amount == null || currency == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(rates.get(currency.toUpperCase(Locale.ROOT)))
+                .map(amount::multiply);
+    }
+
+    /**
+     * Returns the cheapest of the given prices converted into base-currency
+     * minor units, or {@link #NO_PRICE} if none of them can be converted.
+     */
+    public long normalizedMinorUnits(Map<String, BigDecimal> prices) {
+        if (prices == null) {
+            return NO_PRICE;
+        }
+        long cheapest = NO_PRICE;
+        for (Map.Entry<String, BigDecimal> price : prices.entrySet()) {
+            Optional<BigDecimal> converted = toBase(price.getValue(), price.getKey());
+            if (converted.isPresent()) {
+                cheapest = Math.min(cheapest, toMinorUnits(converted.get()));
+            }
+        }
+        return cheapest;
+    }
+
+    /**
+     * Smallest minor-unit value that is not below {@code amount}.
+     */
+    public static long ceilMinorUnits(BigDecimal amount) {
+        return saturate(amount.movePointRight(MINOR_UNIT_DIGITS).setScale(0, RoundingMode.CEILING));
+    }
+
+    /**
+     * Largest minor-unit value that is not above {@code amount}.
+     */
+    public static long floorMinorUnits(BigDecimal amount) {
+        return saturate(amount.movePointRight(MINOR_UNIT_DIGITS).setScale(0, RoundingMode.FLOOR));
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        long minorUnits = saturate(amount.movePointRight(MINOR_UNIT_DIGITS).setScale(0, RoundingMode.HALF_EVEN));
+        return minorUnits == NO_PRICE ? NO_PRICE - 1 : minorUnits;
+    }
+
+    private static long saturate(BigDecimal wholeNumber) {
+        if (wholeNumber.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (wholeNumber.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return wholeNumber.longValueExact();
+    }
+}
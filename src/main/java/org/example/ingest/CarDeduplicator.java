@@ -0,0 +1,141 @@
+package org.example.ingest;
+
+import org.example.model.Car;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Drops repeated cars between parsing and the repository, for example when
+ * overlapping feed shards are loaded one after another. Each car is reduced
+ * to a 64-bit fingerprint of its type, model and prices, held in an
+ * open-addressing table of primitive longs; {@link Car#equals(Object)} only
+ * runs against earlier cars with the same fingerprint. State is kept across
+ * calls so later shards are checked against earlier ones. Not thread-safe.
+ */
+public class CarDeduplicator {
+    private static final int EMPTY = -1;
+
+    private long[] fingerprints = new long[16];
+    private int[] heads = filledWithEmpty(16);
+    private int occupied;
+    private final List<Car> kept = new ArrayList<>();
+    private int[] nextWithSameFingerprint = new int[16];
+    private long received;
+    private long duplicates;
+    private long fingerprintCollisions;
+
+    /**
+     * Returns the cars of {@code cars} not seen before, in input order.
+     * Null entries are dropped.
+     */
+    public List<Car> deduplicate(List<Car> cars) {
+        Objects.requireNonNull(cars, "Car list cannot be null");
+        List<Car> unique = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            if (car == null) {
+                continue;
+            }
+            received++;
+            if (add(car)) {
+                unique.add(car);
+            } else {
+                duplicates++;
+            }
+        }
+        return unique;
+    }
+
+    public DedupStats getStats() {
+        return new DedupStats(received, duplicates, fingerprintCollisions);
+    }
+
+    private boolean add(Car car) {
+        long fingerprint = fingerprint(car);
+        int slot = findSlot(fingerprint);
+        if (heads[slot] == EMPTY) {
+            fingerprints[slot] = fingerprint;
+            heads[slot] = keep(car, EMPTY);
+            if (++occupied * 2 > fingerprints.length) {
+                resize();
+            }
+            return true;
+        }
+        for (int index = heads[slot]; index != EMPTY; index = nextWithSameFingerprint[index]) {
+            if (kept.get(index).equals(car)) {
+                return false;
+            }
+        }
+        fingerprintCollisions++;
+        heads[slot] = keep(car, heads[slot]);
+        return true;
+    }
+
+    private int keep(Car car, int next) {
+        int index = kept.size();
+        kept.add(car);
+        if (index == nextWithSameFingerprint.length) {
+            nextWithSameFingerprint = Arrays.copyOf(nextWithSameFingerprint, index * 2);
+        }
+        nextWithSameFingerprint[index] = next;
+        return index;
+    }
+
+    private int findSlot(long fingerprint) {
+        int mask = fingerprints.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (heads[slot] != EMPTY && fingerprints[slot] != fingerprint) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldFingerprints = fingerprints;
+        int[] oldHeads = heads;
+        fingerprints = new long[oldFingerprints.length * 2];
+        heads = filledWithEmpty(fingerprints.length);
+        for (int i = 0; i < oldFingerprints.length; i++) {
+            if (oldHeads[i] != EMPTY) {
+                int slot = findSlot(oldFingerprints[i]);
+                fingerprints[slot] = oldFingerprints[i];
+                heads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    /**
+     * Mixes the cached {@link String#hashCode()} of type and model with an
+     * order-independent sum over the price entries. {@link BigDecimal#hashCode()}
+     * distinguishes scale exactly like {@link BigDecimal#equals(Object)}, so
+     * equal cars always share a fingerprint.
+     */
+    static long fingerprint(Car car) {
+        long hash = mix(Objects.hashCode(car.getType()));
+        hash = mix(hash * 31 + Objects.hashCode(car.getModel()));
+        long prices = 0;
+        if (car.getPrices() != null) {
+            for (Map.Entry<String, BigDecimal> price : car.getPrices().entrySet()) {
+                prices += mix(((long) Objects.hashCode(price.getKey()) << 32) ^ Objects.hashCode(price.getValue()));
+            }
+        }
+        return mix(hash ^ prices);
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static int[] filledWithEmpty(int size) {
+        int[] array = new int[size];
+        Arrays.fill(array, EMPTY);
+        return array;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.ingest;
+
+/**
+ * Snapshot of a {@link CarDeduplicator}'s counters.
+ */
+public final class DedupStats {
+    private final long received;
+    private final long duplicates;
+    private final long fingerprintCollisions;
+
+    DedupStats(long received, long duplicates, long fingerprintCollisions) {
+        this.received = received;
+        this.duplicates = duplicates;
+        this.fingerprintCollisions = fingerprintCollisions;
+    }
+
+    public long getReceived() { return received; }
+    public long getUnique() { return received - duplicates; }
+    public long getDuplicates() { return duplicates; }
+
+    /** Distinct cars that shared a fingerprint and needed a full comparison. */
+    public long getFingerprintCollisions() { return fingerprintCollisions; }
+
+    public double getDuplicateRate() {
+        return received == 0 ? 0.0 : (double) duplicates / received;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("received=%d, unique=%d, duplicates=%d (%.1f%%), fingerprintCollisions=%d",
+                received, getUnique(), duplicates, getDuplicateRate() * 100, fingerprintCollisions);
+    }
+}
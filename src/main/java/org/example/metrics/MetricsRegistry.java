@@ -0,0 +1,102 @@
+package org.example.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link OperationMetrics} on first use and, when given an
+ * {@link MBeanServer}, publishes each one as
+ * {@code <domain>:type=Operation,name=<operation>}. A bean left under the
+ * same name by an earlier registry is replaced.
+ */
+public final class MetricsRegistry implements AutoCloseable {
+    public static final String DEFAULT_DOMAIN = "org.example";
+
+    private final MBeanServer server;
+    private final String domain;
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry that keeps its metrics in memory only.
+     */
+    public MetricsRegistry() {
+        this(null, DEFAULT_DOMAIN);
+    }
+
+    public MetricsRegistry(MBeanServer server, String domain) {
+        this.server = server;
+        this.domain = Objects.requireNonNull(domain, "Domain cannot be null");
+    }
+
+    /**
+     * Creates a registry that publishes to the platform MBean server.
+     */
+    public static MetricsRegistry platform() {
+        return new MetricsRegistry(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, this::register);
+    }
+
+    /**
+     * Returns the metrics created so far, by operation name.
+     */
+    public Map<String, OperationMetrics> getOperations() {
+        return Collections.unmodifiableMap(new TreeMap<>(operations));
+    }
+
+    /**
+     * Unregisters every published bean. The metrics themselves stay usable.
+     */
+    @Override
+    public void close() {
+        if (server == null) {
+            return;
+        }
+        for (String name : operations.keySet()) {
+            try {
+                server.unregisterMBean(objectName(name));
+            } catch (InstanceNotFoundException e) {
+                // Already replaced or removed by someone else.
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot unregister metrics for " + name, e);
+            }
+        }
+    }
+
+    ObjectName objectName(String name) {
+        try {
+            return new ObjectName(domain + ":type=Operation,name=" + name);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid operation name: " + name, e);
+        }
+    }
+
+    private OperationMetrics register(String name) {
+        OperationMetrics metrics = new OperationMetrics(name);
+        if (server != null) {
+            ObjectName objectName = objectName(name);
+            try {
+                try {
+                    server.registerMBean(metrics, objectName);
+                } catch (InstanceAlreadyExistsException e) {
+                    server.unregisterMBean(objectName);
+                    server.registerMBean(metrics, objectName);
+                }
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot publish metrics for " + name, e);
+            }
+        }
+        return metrics;
+    }
+}
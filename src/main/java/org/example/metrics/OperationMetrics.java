@@ -0,0 +1,103 @@
+package org.example.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Call and error counters plus a latency histogram for one operation.
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final long createdNanos = System.nanoTime();
+
+    OperationMetrics(String name) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+    }
+
+    /**
+     * Records one call that took {@code elapsedNanos}.
+     */
+    public void record(long elapsedNanos, boolean failed) {
+        latencies.record(elapsedNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Runs {@code call} and records its latency; a call that throws is
+     * recorded as an error and the exception is rethrown.
+     */
+    public <T> T time(Supplier<T> call) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latencies.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latencies.valueAtQuantile(0.50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return latencies.valueAtQuantile(0.90) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latencies.valueAtQuantile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latencies.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getThroughputPerSecond() {
+        double seconds = (System.nanoTime() - createdNanos) / 1e9;
+        return seconds <= 0 ? 0.0 : getCount() / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, errors=%d, p50=%.3fms, p99=%.3fms, max=%.3fms",
+                name, getCount(), getErrorCount(), getP50Millis(), getP99Millis(), getMaxMillis());
+    }
+}
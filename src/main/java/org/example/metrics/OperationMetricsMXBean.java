@@ -0,0 +1,25 @@
+package org.example.metrics;
+
+/**
+ * JMX view of one timed operation. Latencies are in milliseconds;
+ * throughput is the average since the metrics were created.
+ */
+public interface OperationMetricsMXBean {
+    String getName();
+
+    long getCount();
+
+    long getErrorCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    double getThroughputPerSecond();
+}
@@ -0,0 +1,37 @@
+package org.example.metrics;
+
+import org.example.parser.FileParser;
+
+import java.io.File;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records the latency of every {@link FileParser#parse(File)} call.
+ */
+public final class TimedFileParser<T> implements FileParser<T> {
+    private final FileParser<T> delegate;
+    private final OperationMetrics metrics;
+
+    public TimedFileParser(FileParser<T> delegate, OperationMetrics metrics) {
+        this.delegate = Objects.requireNonNull(delegate, "Parser cannot be null");
+        this.metrics = Objects.requireNonNull(metrics, "Metrics cannot be null");
+    }
+
+    @Override
+    public List<T> parse(File file) throws Exception {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<T> result = delegate.parse(file);
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public FileParser<T> getDelegate() {
+        return delegate;
+    }
+}
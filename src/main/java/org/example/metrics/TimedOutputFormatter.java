@@ -0,0 +1,61 @@
+package org.example.metrics;
+
+import org.example.model.Car;
+import org.example.output.OutputFormatter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records the latency of every {@link OutputFormatter#format(List)} call and,
+ * separately, of every {@code write} call, since building a String and
+ * streaming to an output are different operations.
+ */
+public final class TimedOutputFormatter implements OutputFormatter {
+    private final OutputFormatter delegate;
+    private final OperationMetrics formatMetrics;
+    private final OperationMetrics writeMetrics;
+
+    public TimedOutputFormatter(OutputFormatter delegate, OperationMetrics formatMetrics,
+                                OperationMetrics writeMetrics) {
+        this.delegate = Objects.requireNonNull(delegate, "Formatter cannot be null");
+        this.formatMetrics = Objects.requireNonNull(formatMetrics, "Format metrics cannot be null");
+        this.writeMetrics = Objects.requireNonNull(writeMetrics, "Write metrics cannot be null");
+    }
+
+    @Override
+    public String format(List<Car> cars) {
+        return formatMetrics.time(() -> delegate.format(cars));
+    }
+
+    @Override
+    public void write(List<Car> cars, Writer out) throws IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.write(cars, out);
+            failed = false;
+        } finally {
+            writeMetrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void write(List<Car> cars, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.write(cars, out);
+            failed = false;
+        } finally {
+            writeMetrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public OutputFormatter getDelegate() {
+        return delegate;
+    }
+}
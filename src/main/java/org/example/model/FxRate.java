@@ -0,0 +1,69 @@
+package org.example.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Value of one unit of {@code currency} expressed in the rate table's base currency.
+ */
+public final class FxRate {
+    private final String currency;
+    private final BigDecimal rate;
+
+    private FxRate(Builder builder) {
+        this.currency = Objects.requireNonNull(builder.currency, "Currency cannot be null");
+        this.rate = Objects.requireNonNull(builder.rate, "Rate cannot be null");
+        if (rate.signum() <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public static class Builder {
+        private String currency;
+        private BigDecimal rate;
+
+        public Builder currency(String currency) {
+            this.currency = currency;
+            return this;
+        }
+
+        public Builder rate(BigDecimal rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        public FxRate build() {
+            return new FxRate(this);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FxRate fxRate = (FxRate) o;
+        return currency.equals(fxRate.currency) &&
+               rate.compareTo(fxRate.rate) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(currency, rate.stripTrailingZeros());
+    }
+
+    @Override
+    public String toString() {
+        return "FxRate{" +
+                "currency='" + currency + '\'' +
+                ", rate=" + rate +
+                '}';
+    }
+}
@@ -1,30 +1,56 @@
 package org.example.output;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.example.model.Car;
 import org.example.exception.OutputFormatException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Formats cars as a JSON array. {@link #write(List, Writer)} and
+ * {@link #write(List, OutputStream)} stream the array car by car through one
+ * generator and its recycled buffers, so their memory use does not depend on
+ * the number of cars; the text is the same as {@link #format(List)}.
+ */
 public class JsonFormatter implements OutputFormatter {
     private final ObjectMapper objectMapper;
+    private final ObjectWriter streamWriter;
 
     public JsonFormatter() {
-        this(new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .enable(SerializationFeature.INDENT_OUTPUT)
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL));
+        this(defaultObjectMapper());
     }
 
     public JsonFormatter(ObjectMapper customObjectMapper) {
         this.objectMapper = Objects.requireNonNull(customObjectMapper,
                 "ObjectMapper cannot be null");
+        this.streamWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Returns a formatter that writes the default JSON on a single line.
+     */
+    public static JsonFormatter compact() {
+        return new JsonFormatter(defaultObjectMapper().disable(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    private static ObjectMapper defaultObjectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
     }
 
     @Override
@@ -38,4 +64,33 @@ public class JsonFormatter implements OutputFormatter {
                     e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void write(List<Car> cars, Writer out) throws IOException {
+        Objects.requireNonNull(cars, "Car list cannot be null");
+        Objects.requireNonNull(out, "Writer cannot be null");
+        writeArray(cars, streamWriter.createGenerator(out));
+    }
+
+    @Override
+    public void write(List<Car> cars, OutputStream out) throws IOException {
+        Objects.requireNonNull(cars, "Car list cannot be null");
+        Objects.requireNonNull(out, "Output stream cannot be null");
+        writeArray(cars, streamWriter.createGenerator(out));
+    }
+
+    private void writeArray(List<Car> cars, JsonGenerator generator) throws IOException {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (SequenceWriter array = streamWriter.writeValuesAsArray(generator)) {
+            for (Car car : cars) {
+                array.write(car);
+            }
+        } catch (JsonProcessingException e) {
+            throw new OutputFormatException(
+                    String.format("Failed to generate JSON output for %d cars", cars.size()),
+                    e);
+        } finally {
+            generator.close();
+        }
+    }
+}
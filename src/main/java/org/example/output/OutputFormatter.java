@@ -2,8 +2,33 @@ package org.example.output;
 
 import org.example.model.Car;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 public interface OutputFormatter {
     String format(List<Car> cars);
-}
\ No newline at end of file
+
+    /**
+     * Writes the same text as {@link #format(List)} to {@code out}, which is
+     * flushed but not closed. The default builds the whole String first;
+     * streaming formatters write car by car.
+     */
+    default void write(List<Car> cars, Writer out) throws IOException {
+        out.write(format(cars));
+        out.flush();
+    }
+
+    /**
+     * Writes the formatted cars to {@code out} as UTF-8; see
+     * {@link #write(List, Writer)}.
+     */
+    default void write(List<Car> cars, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        write(cars, writer);
+        writer.flush();
+    }
+}
@@ -8,18 +8,44 @@ import org.example.exception.OutputFormatException;
 import org.example.model.Car;
 import org.example.model.CarBrand;
 
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Formats cars as a {@code <cars>} document. {@link #format(List)} marshals
+ * through JAXB, reusing idle marshallers from a small pool shared by all
+ * threads; {@link #write(List, Writer)} and {@link #write(List, OutputStream)}
+ * stream the same text element by element through an {@link XMLStreamWriter},
+ * without building the {@link SimpleCar} list or the whole String.
+ */
 public class XmlFormatter implements OutputFormatter {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final PriceAdapter PRICE_ADAPTER = new PriceAdapter();
+
+    // Written by hand: XMLStreamWriter cannot emit the standalone pseudo-attribute.
+    private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String CAR_INDENT = "\n    ";
+    private static final String FIELD_INDENT = "\n        ";
+    private static final int MARSHALLER_POOL_SIZE = 8;
+
     private final JAXBContext jaxbContext;
+    private final BlockingQueue<Marshaller> idleMarshallers = new ArrayBlockingQueue<>(MARSHALLER_POOL_SIZE);
 
     public XmlFormatter() {
         try {
@@ -37,17 +63,124 @@ public class XmlFormatter implements OutputFormatter {
             CarListWrapper wrapper = new CarListWrapper(simpleCars);
 
             StringWriter writer = new StringWriter();
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            Marshaller marshaller = borrowMarshaller();
+            marshaller.marshal(wrapper, writer);
+            // A marshaller that failed is simply dropped.
+            idleMarshallers.offer(marshaller);
+            return writer.toString();
 
+        } catch (JAXBException e) {
+            throw new OutputFormatException("Failed to generate XML output", e);
+        }
+    }
+
+    /**
+     * Takes an idle marshaller or creates one. Marshallers are not
+     * thread-safe, so each is used by one call at a time; when the pool is
+     * full, returned marshallers are discarded.
+     */
+    private Marshaller borrowMarshaller() {
+        Marshaller idle = idleMarshallers.poll();
+        if (idle != null) {
+            return idle;
+        }
+        try {
+            Marshaller marshaller = jaxbContext.createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
             marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+            return marshaller;
+        } catch (JAXBException e) {
+            throw new OutputFormatException("Failed to create XML marshaller", e);
+        }
+    }
 
-            marshaller.marshal(wrapper, writer);
-            return writer.toString();
+    @Override
+    public void write(List<Car> cars, Writer out) throws IOException {
+        Objects.requireNonNull(out, "Writer cannot be null");
+        out.write(DECLARATION);
+        try {
+            writeDocument(cars, OUTPUT_FACTORY.createXMLStreamWriter(out));
+        } catch (XMLStreamException e) {
+            throw new OutputFormatException("Failed to generate XML output", e);
+        }
+        out.flush();
+    }
 
-        } catch (JAXBException e) {
+    @Override
+    public void write(List<Car> cars, OutputStream out) throws IOException {
+        Objects.requireNonNull(out, "Output stream cannot be null");
+        out.write(DECLARATION.getBytes(StandardCharsets.UTF_8));
+        try {
+            writeDocument(cars, OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8"));
+        } catch (XMLStreamException e) {
             throw new OutputFormatException("Failed to generate XML output", e);
         }
+        out.flush();
+    }
+
+    /**
+     * Mirrors the JAXB layout: null cars are skipped and a list without any
+     * car becomes an empty {@code <cars/>} element.
+     */
+    private void writeDocument(List<Car> cars, XMLStreamWriter xml) throws XMLStreamException {
+        try {
+            boolean open = false;
+            if (cars != null) {
+                for (Car car : cars) {
+                    if (car == null) continue;
+                    if (!open) {
+                        xml.writeStartElement("cars");
+                        open = true;
+                    }
+                    writeCar(car, xml);
+                }
+            }
+            if (open) {
+                xml.writeCharacters("\n");
+                xml.writeEndElement();
+            } else {
+                xml.writeEmptyElement("cars");
+            }
+            xml.writeCharacters("\n");
+            xml.flush();
+        } finally {
+            xml.close();
+        }
+    }
+
+    private void writeCar(Car car, XMLStreamWriter xml) throws XMLStreamException {
+        xml.writeCharacters(CAR_INDENT);
+        xml.writeStartElement("car");
+        writeField(xml, "type", safeString(car.getType()));
+        writeField(xml, "brand", safeString(car.getBrand()));
+        writeField(xml, "model", safeString(car.getModel()));
+        writeField(xml, "price", PRICE_ADAPTER.marshal(extractUsdPrice(car)));
+        writeField(xml, "releaseDate", formatReleaseDate(car));
+        xml.writeCharacters(CAR_INDENT);
+        xml.writeEndElement();
+    }
+
+    private static void writeField(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeCharacters(FIELD_INDENT);
+        xml.writeStartElement(name);
+        writeText(xml, value);
+        xml.writeEndElement();
+    }
+
+    /**
+     * Writes {@code value} escaped the way JAXB escapes it. The StAX writer
+     * already escapes {@code &}, {@code <} and {@code >}, but would emit a
+     * carriage return raw, where JAXB writes a character reference that
+     * survives a parser's line-end normalization.
+     */
+    private static void writeText(XMLStreamWriter xml, String value) throws XMLStreamException {
+        int start = 0;
+        for (int cr = value.indexOf('\r'); cr >= 0; cr = value.indexOf('\r', start)) {
+            xml.writeCharacters(value.substring(start, cr));
+            xml.writeEntityRef("#13");
+            start = cr + 1;
+        }
+        xml.writeCharacters(value.substring(start));
     }
 
     private List<SimpleCar> convertToSimpleCars(List<Car> cars) {
@@ -60,20 +193,22 @@ public class XmlFormatter implements OutputFormatter {
     }
 
     private SimpleCar mapToSimpleCar(Car car) {
-        String releaseDate = Optional.ofNullable(car.getCarBrand())
-                .map(CarBrand::getReleaseDate)
-                .map(DATE_FORMATTER::format)
-                .orElse("N/A");
-
         return new SimpleCar(
                 safeString(car.getType()),
                 safeString(car.getBrand()),
                 safeString(car.getModel()),
                 extractUsdPrice(car),
-                releaseDate
+                formatReleaseDate(car)
         );
     }
 
+    private String formatReleaseDate(Car car) {
+        return Optional.ofNullable(car.getCarBrand())
+                .map(CarBrand::getReleaseDate)
+                .map(DATE_FORMATTER::format)
+                .orElse("N/A");
+    }
+
     private String safeString(String value) {
         return value != null ? value : "N/A";
     }
@@ -0,0 +1,62 @@
+package org.example.parser;
+
+import org.example.model.FxRate;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Reads a rate table of {@code Currency,Rate} lines after a header line,
+ * where each rate is the value of one unit of the currency in the base currency.
+ */
+public class FxRateParser implements FileParser<FxRate> {
+    private static final int EXPECTED_COLUMNS = 2;
+    private static final int CURRENCY_INDEX = 0;
+    private static final int RATE_INDEX = 1;
+
+    @Override
+    public List<FxRate> parse(File file) throws ParserException {
+        Objects.requireNonNull(file, "Input file cannot be null");
+
+        try (Stream<String> lines = Files.lines(file.toPath())) {
+            return lines
+                    .skip(1)
+                    .filter(line -> !line.isBlank())
+                    .map(this::parseLine)
+                    .filter(Objects::nonNull)
+                    .toList();
+        } catch (IOException e) {
+            throw new ParserException("Failed to read FX rate file: " + file.getName(), e);
+        }
+    }
+
+    private FxRate parseLine(String line) {
+        try {
+            String[] parts = line.replace("\"", "").split(",");
+            if (parts.length != EXPECTED_COLUMNS) {
+                System.err.println("Skipping malformed rate line: " + line);
+                return null;
+            }
+
+            return new FxRate.Builder()
+                    .currency(parts[CURRENCY_INDEX].trim().toUpperCase(Locale.ROOT))
+                    .rate(new BigDecimal(parts[RATE_INDEX].trim()))
+                    .build();
+        } catch (Exception e) {
+            System.err.println("Error parsing rate line: " + line + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static class ParserException extends Exception {
+        public ParserException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.repository;
+
+/**
+ * Ways a repository can produce filter candidates.
+ */
+public enum AccessPath {
+    /** Every live row. */
+    FULL_SCAN,
+    /** Rows of the brand bitmap. */
+    BRAND_INDEX,
+    /** Price kernel over the currency's price column, checking brand ids too. */
+    PRICE_KERNEL,
+    /** AND of the brand bitmap and the currency bitmap. */
+    BITMAP_INTERSECTION
+}
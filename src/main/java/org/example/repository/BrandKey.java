@@ -0,0 +1,22 @@
+package org.example.repository;
+
+/**
+ * Normalizes brand names into index keys. Two names map to the same key
+ * exactly when {@link String#equalsIgnoreCase(String)} considers them equal,
+ * so an index keyed this way never drops a case-insensitive match.
+ */
+public final class BrandKey {
+    private BrandKey() {
+    }
+
+    public static String of(String brand) {
+        if (brand == null) {
+            return null;
+        }
+        char[] chars = brand.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+}
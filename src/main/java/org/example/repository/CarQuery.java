@@ -0,0 +1,160 @@
+package org.example.repository;
+
+import org.example.model.Car;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Conjunction of clauses over indexed car attributes. Each clause matches a
+ * car whose attribute equals any of its values, so
+ * {@code brand("Toyota").type("SUV").currency("JPY", "EUR")} reads as
+ * "Toyota AND SUV AND (JPY OR EUR price)". Brands and types compare
+ * case-insensitively; currencies are matched exactly, like
+ * {@link Car#getPrices()} keys. A query without clauses matches every car.
+ */
+public final class CarQuery {
+
+    public enum Field { BRAND, TYPE, CURRENCY }
+
+    public static final class Clause {
+        private final Field field;
+        private final Set<String> keys;
+
+        private Clause(Field field, Set<String> keys) {
+            this.field = field;
+            this.keys = Set.copyOf(keys);
+        }
+
+        public Field getField() { return field; }
+
+        /** Normalized index keys; see {@link CarQuery#key(Field, String)}. */
+        public Set<String> getKeys() { return keys; }
+
+        boolean matches(Car car) {
+            return switch (field) {
+                case BRAND -> hasKey(car.getBrand());
+                case TYPE -> hasKey(car.getType());
+                case CURRENCY -> hasPriceIn(car.getPrices());
+            };
+        }
+
+        /** A missing value never matches; immutable sets reject null lookups. */
+        private boolean hasKey(String value) {
+            return value != null && keys.contains(key(field, value));
+        }
+
+        private boolean hasPriceIn(Map<String, ?> prices) {
+            if (prices == null) {
+                return false;
+            }
+            for (String currency : keys) {
+                if (prices.get(currency) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clause clause)) return false;
+            return field == clause.field && keys.equals(clause.keys);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(field, keys);
+        }
+
+        @Override
+        public String toString() {
+            return field + " in " + keys;
+        }
+    }
+
+    private final List<Clause> clauses;
+
+    private CarQuery(Builder builder) {
+        this.clauses = List.copyOf(builder.clauses);
+    }
+
+    public List<Clause> getClauses() { return clauses; }
+
+    public boolean matches(Car car) {
+        if (car == null) {
+            return false;
+        }
+        for (Clause clause : clauses) {
+            if (!clause.matches(car)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Index key for a value of {@code field}: brands and types are
+     * case-folded with {@link BrandKey}, currencies are kept as is.
+     */
+    public static String key(Field field, String value) {
+        return field == Field.CURRENCY ? value : BrandKey.of(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CarQuery carQuery)) return false;
+        return clauses.equals(carQuery.clauses);
+    }
+
+    @Override
+    public int hashCode() {
+        return clauses.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CarQuery" + clauses;
+    }
+
+    public static class Builder {
+        private final List<Clause> clauses = new ArrayList<>();
+
+        public Builder brand(String... brands) {
+            return where(Field.BRAND, brands);
+        }
+
+        public Builder type(String... types) {
+            return where(Field.TYPE, types);
+        }
+
+        public Builder currency(String... currencies) {
+            return where(Field.CURRENCY, currencies);
+        }
+
+        /** Adds a clause matching cars whose {@code field} equals any of {@code values}. */
+        public Builder where(Field field, String... values) {
+            Objects.requireNonNull(field, "Field cannot be null");
+            Objects.requireNonNull(values, "Values cannot be null");
+            if (values.length == 0) {
+                throw new IllegalArgumentException("A clause needs at least one value");
+            }
+            Set<String> keys = new LinkedHashSet<>();
+            for (String value : values) {
+                keys.add(key(field, Objects.requireNonNull(value, field + " value cannot be null")));
+            }
+            clauses.add(new Clause(field, keys));
+            return this;
+        }
+
+        public CarQuery build() {
+            return new CarQuery(this);
+        }
+    }
+}
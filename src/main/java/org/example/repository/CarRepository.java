@@ -1,10 +1,211 @@
 package org.example.repository;
 
+import org.example.analytics.GroupBy;
+import org.example.analytics.TDigest;
+import org.example.fx.FxRateTable;
 import org.example.model.Car;
+import org.example.strategy.FilterDescriptor;
+import org.example.strategy.KeySorter;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 public interface CarRepository {
     List<Car> findAll();
-}
\ No newline at end of file
+
+    /**
+     * Returns the cars that may satisfy the described predicate, in the same
+     * relative order as {@link #findAll()}. The result may contain cars that do
+     * not match; callers apply the exact predicate afterwards.
+     */
+    default List<Car> findCandidates(FilterDescriptor descriptor) {
+        return findAll();
+    }
+
+    /**
+     * Lazily yields the same cars as {@link #findCandidates(FilterDescriptor)}.
+     * The default materializes them first; chunked repositories buffer only a
+     * bounded window of candidates at a time.
+     */
+    default Stream<Car> streamCandidates(FilterDescriptor descriptor) {
+        return findCandidates(descriptor).stream();
+    }
+
+    /**
+     * Chooses how {@link #findCandidates(QueryPlan)} will produce candidates
+     * for {@code descriptor}. Repositories without statistics always scan.
+     */
+    default QueryPlan plan(FilterDescriptor descriptor) {
+        return QueryPlan.fullScan(descriptor, findAll().size());
+    }
+
+    /**
+     * Produces candidates for the plan's descriptor along the plan's access
+     * path, with the same contract as {@link #findCandidates(FilterDescriptor)}.
+     */
+    default List<Car> findCandidates(QueryPlan plan) {
+        return findCandidates(plan.getDescriptor());
+    }
+
+    /**
+     * Returns the cars matching {@code query}, in {@link #findAll()} order.
+     */
+    default List<Car> findMatching(CarQuery query) {
+        return findAll().stream().filter(query::matches).toList();
+    }
+
+    /**
+     * Returns how many cars match {@code query}.
+     */
+    default long count(CarQuery query) {
+        return findMatching(query).size();
+    }
+
+    /**
+     * Returns a snapshot of the price sketch for one group and currency, or
+     * an empty value if no car in the group has a price in that currency.
+     * Groups match case-insensitively. The default builds the sketch by
+     * scanning; maintaining repositories return it without touching cars.
+     */
+    default Optional<TDigest> findPriceDigest(GroupBy groupBy, String group, String currency) {
+        TDigest digest = new TDigest();
+        for (Car car : findAll()) {
+            if (car != null && group.equalsIgnoreCase(groupBy.keyOf(car))
+                    && car.getPrices() != null && car.getPrices().get(currency) != null) {
+                digest.add(car.getPrices().get(currency).doubleValue());
+            }
+        }
+        return digest.size() == 0 ? Optional.empty() : Optional.of(digest);
+    }
+
+    /**
+     * Returns up to {@code limit} cars whose model contains {@code query},
+     * ignoring case. Prefix matches come first in model-name order, followed
+     * by the other matches in order of each model's first appearance; cars
+     * with the same model keep {@link #findAll()} order.
+     */
+    default List<Car> searchByModel(String query, int limit) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        String key = BrandKey.of(query);
+        Map<String, List<Car>> prefixMatches = new TreeMap<>();
+        Map<String, List<Car>> otherMatches = new LinkedHashMap<>();
+        for (Car car : findAll()) {
+            String model = car == null ? null : BrandKey.of(car.getModel());
+            if (model != null && model.contains(key)) {
+                (model.startsWith(key) ? prefixMatches : otherMatches)
+                        .computeIfAbsent(model, m -> new ArrayList<>()).add(car);
+            }
+        }
+        return Stream.concat(prefixMatches.values().stream(), otherMatches.values().stream())
+                .flatMap(List::stream)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns a number that changes whenever the stored cars change, or an
+     * empty value if this repository cannot track changes. Results derived
+     * from an unversioned repository must not be cached.
+     */
+    default OptionalLong getVersion() {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns {@link #findAll()} with the version it was read at, or an empty
+     * value if this repository cannot track changes. The default reads until
+     * the version is the same before and after {@link #findAll()}; locking
+     * repositories read both under one lock.
+     */
+    default Optional<CarSnapshot> snapshot() {
+        while (true) {
+            OptionalLong before = getVersion();
+            if (before.isEmpty()) {
+                return Optional.empty();
+            }
+            List<Car> cars = findAll();
+            if (getVersion().equals(before)) {
+                return Optional.of(new CarSnapshot(cars, before.getAsLong()));
+            }
+        }
+    }
+
+    /**
+     * Registers {@code listener} for every later change and returns whether
+     * this repository reports changes. Repositories that cannot report
+     * changes return false and never call the listener.
+     */
+    default boolean addListener(CarRepositoryListener listener) {
+        return false;
+    }
+
+    /**
+     * Returns the FX rates that normalized-price queries convert with, or an
+     * empty value if none have been applied.
+     */
+    default Optional<FxRateTable> getFxRates() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns all cars ordered by their cheapest price in any currency,
+     * normalized into the base currency of the applied FX rates. Cars without
+     * a convertible price come last; ties keep {@link #findAll()} order. The
+     * default normalizes every car on each call; maintaining repositories
+     * keep a precomputed column.
+     *
+     * @throws IllegalStateException if no FX rates have been applied
+     */
+    default List<Car> findAllOrderedByNormalizedPrice() {
+        FxRateTable rates = requireFxRates();
+        List<Car> cars = findAll();
+        long[] keys = new long[cars.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = normalizedPrice(rates, cars.get(i));
+        }
+        List<Car> result = new ArrayList<>(keys.length);
+        for (int position : new KeySorter().sortedOrder(keys)) {
+            result.add(cars.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cars whose normalized cheapest price lies within the given
+     * base-currency bounds, in {@link #findAll()} order. A null bound is open.
+     *
+     * @throws IllegalStateException if no FX rates have been applied
+     */
+    default List<Car> findByNormalizedPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        long min = minPrice == null ? Long.MIN_VALUE : FxRateTable.ceilMinorUnits(minPrice);
+        long max = maxPrice == null ? Long.MAX_VALUE : FxRateTable.floorMinorUnits(maxPrice);
+        FxRateTable rates = requireFxRates();
+        List<Car> result = new ArrayList<>();
+        for (Car car : findAll()) {
+            long price = normalizedPrice(rates, car);
+            if (price != FxRateTable.NO_PRICE && price >= min && price <= max) {
+                result.add(car);
+            }
+        }
+        return result;
+    }
+
+    private FxRateTable requireFxRates() {
+        return getFxRates().orElseThrow(() -> new IllegalStateException("No FX rates have been applied"));
+    }
+
+    private static long normalizedPrice(FxRateTable rates, Car car) {
+        return car == null ? FxRateTable.NO_PRICE : rates.normalizedMinorUnits(car.getPrices());
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.repository;
+
+import org.example.model.Car;
+
+import java.util.List;
+
+/**
+ * Receives every change to a {@link CarRepository}, in order. It is called
+ * while the repository holds its write lock, so implementations must be
+ * quick and must not call back into the repository.
+ */
+@FunctionalInterface
+public interface CarRepositoryListener {
+    /**
+     * @param added           cars appended by this change, in row order
+     * @param removed         stored cars deleted by this change
+     * @param previousVersion the version before this change
+     * @param version         the version after this change
+     */
+    void carsChanged(List<Car> added, List<Car> removed, long previousVersion, long version);
+}
@@ -0,0 +1,46 @@
+package org.example.repository;
+
+import org.example.model.Car;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * All cars of a repository together with the version they were read at.
+ */
+public final class CarSnapshot {
+    private final List<Car> cars;
+    private final long version;
+
+    public CarSnapshot(List<Car> cars, long version) {
+        this.cars = Collections.unmodifiableList(Objects.requireNonNull(cars, "Car list cannot be null"));
+        this.version = version;
+    }
+
+    public List<Car> getCars() {
+        return cars;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CarSnapshot that = (CarSnapshot) o;
+        return version == that.version && cars.equals(that.cars);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cars, version);
+    }
+
+    @Override
+    public String toString() {
+        return "CarSnapshot{cars=" + cars.size() + ", version=" + version + '}';
+    }
+}
@@ -1,18 +1,742 @@
 package org.example.repository;
 
+import org.example.analytics.GroupBy;
+import org.example.analytics.TDigest;
+import org.example.fx.FxRateTable;
 import org.example.model.Car;
+import org.example.strategy.FilterDescriptor;
+import org.example.strategy.KeySorter;
+
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * Stores cars as append-only rows. Deleted rows are tombstoned rather than
+ * removed, so row numbers stay stable and the indexes and primitive columns
+ * can refer to them. Once tombstones outnumber live rows, a delete compacts
+ * the live rows to the front and rebuilds every index and column.
+ */
 public class InMemoryCarRepository implements CarRepository {
-    private final List<Car> cars;
+    private static final long MISSING_PRICE = Long.MIN_VALUE;
+    private static final long NO_BRAND = -2;
+    private static final int STREAM_WINDOW_ROWS = 4096;
+    private static final int MIN_COMPACTION_TOMBSTONES = 64;
+
+    private final List<Car> rows = new ArrayList<>();
+    private final BitSet liveRows = new BitSet();
+    private final Map<String, BitSet> brandIndex = new HashMap<>();
+    private final Map<String, BitSet> typeIndex = new HashMap<>();
+    private final Map<String, BitSet> currencyIndex = new HashMap<>();
+    private final Map<String, Integer> brandIds = new HashMap<>();
+    private final Map<String, PriceHistogram> histograms = new HashMap<>();
+    private long histogramVersion = -1;
+    private ModelSearchIndex modelIndex = new ModelSearchIndex();
+    private final Map<GroupBy, Map<String, Map<String, TDigest>>> priceDigests = new EnumMap<>(GroupBy.class);
+    private final Map<String, long[]> priceColumns = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<CarRepositoryListener> listeners = new CopyOnWriteArrayList<>();
+    private final KeySorter keySorter = new KeySorter();
+    private final PriceRangeKernel priceKernel;
+    private FxRateTable fxRates;
+    private int capacity = 16;
+    private long[] normalizedPrices = new long[capacity];
+    private long[] brandIdColumn = new long[capacity];
+    private int compactions;
+    private BitSet lastCompactedRows = new BitSet();
+    private volatile long version;
+
     public InMemoryCarRepository(List<Car> cars) {
-        this.cars = new ArrayList<>(cars);
+        this(cars, PriceRangeKernel.best());
     }
+
+    public InMemoryCarRepository(List<Car> cars, PriceRangeKernel priceKernel) {
+        this.priceKernel = Objects.requireNonNull(priceKernel, "Price kernel cannot be null");
+        cars.forEach(this::appendRow);
+    }
+
     @Override
     public List<Car> findAll() {
-        return new ArrayList<>(cars);
+        lock.readLock().lock();
+        try {
+            return materialize(liveRows);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Plans and runs the descriptor under one read lock, so the plan's
+     * statistics describe the rows it executes against.
+     */
+    @Override
+    public List<Car> findCandidates(FilterDescriptor descriptor) {
+        lock.readLock().lock();
+        try {
+            return findCandidates(plan(descriptor));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Costs every applicable access path from the live row count, the brand
+     * and currency bitmap cardinalities and the currency's price histogram.
+     */
+    @Override
+    public QueryPlan plan(FilterDescriptor descriptor) {
+        Objects.requireNonNull(descriptor, "Descriptor cannot be null");
+        lock.readLock().lock();
+        try {
+            long brandRows = descriptor.getBrand()
+                    .map(brand -> brandIndex.get(BrandKey.of(brand)))
+                    .map(BitSet::cardinality)
+                    .orElse(0);
+            long currencyRows = 0;
+            double priceRangeRows = 0;
+            if (descriptor.hasPriceRange()) {
+                String currency = descriptor.getCurrency().orElseThrow();
+                BitSet currencyRowSet = currencyIndex.get(currency);
+                currencyRows = currencyRowSet == null ? 0 : currencyRowSet.cardinality();
+                priceRangeRows = histogram(currency).estimateRows(minBound(descriptor), maxBound(descriptor));
+            }
+            return QueryPlanner.plan(descriptor,
+                    new QueryPlanner.Statistics(liveRows.cardinality(), brandRows, currencyRows, priceRangeRows));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Car> findCandidates(QueryPlan plan) {
+        FilterDescriptor descriptor = plan.getDescriptor();
+        lock.readLock().lock();
+        try {
+            return switch (plan.getAccessPath()) {
+                case FULL_SCAN -> materialize(liveRows);
+                case BRAND_INDEX -> materialize(brandRows(descriptor));
+                case PRICE_KERNEL -> findPriceRangeCandidates(descriptor);
+                case BITMAP_INTERSECTION -> {
+                    BitSet rows = brandRows(descriptor);
+                    BitSet currencyRows = currencyIndex.get(descriptor.getCurrency().orElseThrow());
+                    rows.and(currencyRows == null ? new BitSet() : currencyRows);
+                    yield materialize(rows);
+                }
+            };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Plans once, then walks the rows in windows of {@value #STREAM_WINDOW_ROWS},
+     * taking the read lock per window. The stream is weakly consistent: rows
+     * deleted before their window is read are skipped, and rows appended in
+     * the meantime are included. A stream resumes across one compaction; one
+     * that is overtaken by two fails with {@link ConcurrentModificationException}.
+     */
+    @Override
+    public Stream<Car> streamCandidates(FilterDescriptor descriptor) {
+        return StreamSupport.stream(new CandidateSpliterator(plan(descriptor)), false);
+    }
+
+    private BitSet selectWindow(QueryPlan plan, int from, int to) {
+        FilterDescriptor descriptor = plan.getDescriptor();
+        return switch (plan.getAccessPath()) {
+            case FULL_SCAN -> liveRows.get(from, to);
+            case BRAND_INDEX -> window(brandIndex.get(BrandKey.of(descriptor.getBrand().orElseThrow())), from, to);
+            case PRICE_KERNEL -> selectPriceWindow(descriptor, from, to);
+            case BITMAP_INTERSECTION -> {
+                BitSet rows = window(brandIndex.get(BrandKey.of(descriptor.getBrand().orElseThrow())), from, to);
+                rows.and(window(currencyIndex.get(descriptor.getCurrency().orElseThrow()), from, to));
+                yield rows;
+            }
+        };
+    }
+
+    private static BitSet window(BitSet rows, int from, int to) {
+        return rows == null ? new BitSet() : rows.get(from, to);
+    }
+
+    /**
+     * Same predicate as the price kernel, over one window. Bit {@code i} of
+     * the result stands for row {@code from + i}.
+     */
+    private BitSet selectPriceWindow(FilterDescriptor descriptor, int from, int to) {
+        BitSet selected = new BitSet();
+        long[] prices = priceColumns.get(descriptor.getCurrency().orElseThrow());
+        long brandId = PriceRangeKernel.ANY_BRAND;
+        if (descriptor.getBrand().isPresent()) {
+            Integer id = brandIds.get(BrandKey.of(descriptor.getBrand().get()));
+            if (id == null) {
+                return selected;
+            }
+            brandId = id;
+        }
+        if (prices == null) {
+            return selected;
+        }
+        long min = minBound(descriptor);
+        long max = maxBound(descriptor);
+        for (int row = from; row < to; row++) {
+            long price = prices[row];
+            if (price >= min && price <= max && (brandId == PriceRangeKernel.ANY_BRAND || brandIdColumn[row] == brandId)
+                    && liveRows.get(row)) {
+                selected.set(row - from);
+            }
+        }
+        return selected;
+    }
+
+    private final class CandidateSpliterator extends Spliterators.AbstractSpliterator<Car> {
+        private final QueryPlan plan;
+        private final List<Car> window = new ArrayList<>();
+        private int windowIndex;
+        private int nextRow;
+        private int compaction = -1;
+
+        private CandidateSpliterator(QueryPlan plan) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.plan = plan;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Car> action) {
+            while (windowIndex == window.size()) {
+                if (!readWindow()) {
+                    return false;
+                }
+            }
+            action.accept(window.get(windowIndex++));
+            return true;
+        }
+
+        private boolean readWindow() {
+            window.clear();
+            windowIndex = 0;
+            lock.readLock().lock();
+            try {
+                followCompaction();
+                if (nextRow >= rows.size()) {
+                    return false;
+                }
+                int to = Math.min(nextRow + STREAM_WINDOW_ROWS, rows.size());
+                BitSet selected = selectWindow(plan, nextRow, to);
+                for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+                    window.add(rows.get(nextRow + i));
+                }
+                nextRow = to;
+                return true;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Moves the next row past the live rows that were already read, if
+         * the rows were compacted since the previous window.
+         */
+        private void followCompaction() {
+            if (compaction != compactions && nextRow > 0) {
+                if (compaction != compactions - 1) {
+                    throw new ConcurrentModificationException("Rows were compacted twice during the stream");
+                }
+                nextRow = lastCompactedRows.get(0, nextRow).cardinality();
+            }
+            compaction = compactions;
+        }
+    }
+
+    private BitSet brandRows(FilterDescriptor descriptor) {
+        BitSet rows = brandIndex.get(BrandKey.of(descriptor.getBrand().orElseThrow()));
+        return rows == null ? new BitSet() : (BitSet) rows.clone();
+    }
+
+    /**
+     * Returns the currency's histogram, rebuilding it from a sample of the
+     * price column when the data changed since it was built.
+     */
+    private PriceHistogram histogram(String currency) {
+        synchronized (histograms) {
+            if (histogramVersion != version) {
+                histograms.clear();
+                histogramVersion = version;
+            }
+            return histograms.computeIfAbsent(currency, key -> {
+                BitSet rows = currencyIndex.get(key);
+                if (rows == null) {
+                    return PriceHistogram.of(new long[0], 0);
+                }
+                long[] prices = priceColumns.get(key);
+                int count = rows.cardinality();
+                int step = Math.max(1, count / PriceHistogram.SAMPLE_SIZE);
+                long[] sample = new long[(count + step - 1) / step];
+                int taken = 0;
+                int seen = 0;
+                for (int row = rows.nextSetBit(0); row >= 0 && taken < sample.length; row = rows.nextSetBit(row + 1)) {
+                    if (seen++ % step == 0) {
+                        sample[taken++] = prices[row];
+                    }
+                }
+                return PriceHistogram.of(Arrays.copyOf(sample, taken), count);
+            });
+        }
+    }
+
+    private static long minBound(FilterDescriptor descriptor) {
+        return descriptor.getMinPrice().map(FxRateTable::floorMinorUnits).orElse(Long.MIN_VALUE);
+    }
+
+    private static long maxBound(FilterDescriptor descriptor) {
+        return descriptor.getMaxPrice().map(FxRateTable::floorMinorUnits).orElse(Long.MAX_VALUE);
+    }
+
+    /**
+     * Evaluates the query with word-level AND/OR over the brand, type and
+     * currency bitmaps; only the surviving rows are materialized.
+     */
+    @Override
+    public List<Car> findMatching(CarQuery query) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        lock.readLock().lock();
+        try {
+            return materialize(select(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count(CarQuery query) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        lock.readLock().lock();
+        try {
+            return select(query).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet select(CarQuery query) {
+        BitSet selection = (BitSet) liveRows.clone();
+        for (CarQuery.Clause clause : query.getClauses()) {
+            Map<String, BitSet> index = switch (clause.getField()) {
+                case BRAND -> brandIndex;
+                case TYPE -> typeIndex;
+                case CURRENCY -> currencyIndex;
+            };
+            BitSet anyOf = new BitSet();
+            for (String key : clause.getKeys()) {
+                BitSet keyRows = index.get(key);
+                if (keyRows != null) {
+                    anyOf.or(keyRows);
+                }
+            }
+            selection.and(anyOf);
+        }
+        return selection;
+    }
+
+    /**
+     * Returns a copy of the incrementally maintained sketch; its size is
+     * bounded by the digest compression, not by the number of cars.
+     */
+    @Override
+    public Optional<TDigest> findPriceDigest(GroupBy groupBy, String group, String currency) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(priceDigests.getOrDefault(groupBy, Map.of())
+                            .getOrDefault(digestKey(groupBy, group), Map.of())
+                            .get(currency))
+                    .map(TDigest::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Car> searchByModel(String query, int limit) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        lock.readLock().lock();
+        try {
+            int[] matches = modelIndex.search(query, limit, liveRows);
+            List<Car> result = new ArrayList<>(matches.length);
+            for (int row : matches) {
+                result.add(rows.get(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Car> findPriceRangeCandidates(FilterDescriptor descriptor) {
+        long min = minBound(descriptor);
+        long max = maxBound(descriptor);
+        lock.readLock().lock();
+        try {
+            long[] prices = priceColumns.get(descriptor.getCurrency().orElseThrow());
+            long brandId = PriceRangeKernel.ANY_BRAND;
+            if (descriptor.getBrand().isPresent()) {
+                Integer id = brandIds.get(BrandKey.of(descriptor.getBrand().get()));
+                if (id == null) {
+                    return new ArrayList<>();
+                }
+                brandId = id;
+            }
+            if (prices == null) {
+                return new ArrayList<>();
+            }
+            long[] selection = new long[(rows.size() + 63) >>> 6];
+            priceKernel.select(prices, brandIdColumn, rows.size(), min, max, brandId, selection);
+            BitSet candidates = BitSet.valueOf(selection);
+            candidates.and(liveRows);
+            return materialize(candidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalLong getVersion() {
+        return OptionalLong.of(version);
+    }
+
+    @Override
+    public Optional<CarSnapshot> snapshot() {
+        lock.readLock().lock();
+        try {
+            return Optional.of(new CarSnapshot(materialize(liveRows), version));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stored rows, tombstones included.
+     */
+    int rowCount() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<FxRateTable> getFxRates() {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(fxRates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Car> findAllOrderedByNormalizedPrice() {
+        lock.readLock().lock();
+        try {
+            requireFxRates();
+            int[] liveRowIds = liveRows.stream().toArray();
+            long[] keys = new long[liveRowIds.length];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = normalizedPrices[liveRowIds[i]];
+            }
+            int[] order = keySorter.sortedOrder(keys);
+            List<Car> result = new ArrayList<>(order.length);
+            for (int position : order) {
+                result.add(rows.get(liveRowIds[position]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Car> findByNormalizedPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        long min = minPrice == null ? Long.MIN_VALUE : FxRateTable.ceilMinorUnits(minPrice);
+        long max = maxPrice == null ? Long.MAX_VALUE : FxRateTable.floorMinorUnits(maxPrice);
+        lock.readLock().lock();
+        try {
+            requireFxRates();
+            List<Car> result = new ArrayList<>();
+            for (int row = liveRows.nextSetBit(0); row >= 0; row = liveRows.nextSetBit(row + 1)) {
+                long price = normalizedPrices[row];
+                if (price != FxRateTable.NO_PRICE && price >= min && price <= max) {
+                    result.add(rows.get(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the FX rates and recomputes the normalized price column, so
+     * cross-currency queries never convert prices themselves.
+     */
+    public void applyFxRates(FxRateTable rates) {
+        Objects.requireNonNull(rates, "FX rates cannot be null");
+        lock.writeLock().lock();
+        try {
+            fxRates = rates;
+            for (int row = 0; row < rows.size(); row++) {
+                normalizedPrices[row] = normalize(rows.get(row));
+            }
+            version++;
+            fireChange(List.of(), List.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void save(Car car) {
+        saveAll(List.of(car));
+    }
+
+    public void saveAll(Collection<Car> cars) {
+        Objects.requireNonNull(cars, "Car collection cannot be null");
+        lock.writeLock().lock();
+        try {
+            List<Car> added = new ArrayList<>(cars);
+            added.forEach(this::appendRow);
+            version++;
+            fireChange(added, List.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the first stored car equal to {@code car}.
+     *
+     * @return whether a car was removed
+     */
+    public boolean delete(Car car) {
+        lock.writeLock().lock();
+        try {
+            for (int row = liveRows.nextSetBit(0); row >= 0; row = liveRows.nextSetBit(row + 1)) {
+                Car removed = rows.get(row);
+                if (Objects.equals(removed, car)) {
+                    unindexRow(row);
+                    rebuildDigests(removed);
+                    compactIfSparse();
+                    version++;
+                    fireChange(List.of(), Collections.singletonList(removed));
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean addListener(CarRepositoryListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+        return true;
+    }
+
+    private void fireChange(List<Car> added, List<Car> removed) {
+        List<Car> addedView = Collections.unmodifiableList(added);
+        for (CarRepositoryListener listener : listeners) {
+            listener.carsChanged(addedView, removed, version - 1, version);
+        }
+    }
+
+    private List<Car> materialize(BitSet selectedRows) {
+        List<Car> result = new ArrayList<>(selectedRows.cardinality());
+        for (int row = selectedRows.nextSetBit(0); row >= 0; row = selectedRows.nextSetBit(row + 1)) {
+            result.add(rows.get(row));
+        }
+        return result;
+    }
+
+    private void appendRow(Car car) {
+        int row = rows.size();
+        rows.add(car);
+        liveRows.set(row);
+        if (row == capacity) {
+            growColumns();
+        }
+        normalizedPrices[row] = normalize(car);
+        brandIdColumn[row] = NO_BRAND;
+        if (car != null && car.getBrand() != null) {
+            String brandKey = BrandKey.of(car.getBrand());
+            brandIdColumn[row] = brandIds.computeIfAbsent(brandKey, key -> brandIds.size());
+        }
+        if (car != null && car.getPrices() != null) {
+            car.getPrices().forEach((currency, price) -> {
+                if (currency != null && price != null) {
+                    priceColumn(currency)[row] = FxRateTable.floorMinorUnits(price);
+                }
+            });
+        }
+        forEachIndexKey(car, (index, key) -> index.computeIfAbsent(key, k -> new BitSet()).set(row));
+        if (car != null) {
+            modelIndex.add(car.getModel(), row);
+        }
+        for (GroupBy groupBy : GroupBy.values()) {
+            addToDigests(groupBy, car);
+        }
+    }
+
+    private void addToDigests(GroupBy groupBy, Car car) {
+        if (car == null || car.getPrices() == null || groupBy.keyOf(car) == null) {
+            return;
+        }
+        Map<String, TDigest> currencies = priceDigests
+                .computeIfAbsent(groupBy, g -> new HashMap<>())
+                .computeIfAbsent(digestKey(groupBy, groupBy.keyOf(car)), key -> new HashMap<>());
+        car.getPrices().forEach((currency, price) -> {
+            if (currency != null && price != null) {
+                currencies.computeIfAbsent(currency, key -> new TDigest()).add(price.doubleValue());
+            }
+        });
+    }
+
+    /**
+     * Sketches cannot remove values, so a delete rebuilds the sketches of
+     * the removed car's groups from the group's live rows in the index.
+     */
+    private void rebuildDigests(Car removed) {
+        if (removed == null) {
+            return;
+        }
+        for (GroupBy groupBy : GroupBy.values()) {
+            String group = groupBy.keyOf(removed);
+            if (group == null) {
+                continue;
+            }
+            String key = digestKey(groupBy, group);
+            Map<String, Map<String, TDigest>> groups = priceDigests.getOrDefault(groupBy, new HashMap<>());
+            groups.remove(key);
+            BitSet groupRows = (groupBy == GroupBy.BRAND ? brandIndex : typeIndex).get(key);
+            if (groupRows != null) {
+                for (int row = groupRows.nextSetBit(0); row >= 0; row = groupRows.nextSetBit(row + 1)) {
+                    addToDigests(groupBy, rows.get(row));
+                }
+            }
+        }
+    }
+
+    private static String digestKey(GroupBy groupBy, String group) {
+        return CarQuery.key(groupBy == GroupBy.BRAND ? CarQuery.Field.BRAND : CarQuery.Field.TYPE, group);
+    }
+
+    private void forEachIndexKey(Car car, BiConsumer<Map<String, BitSet>, String> action) {
+        if (car == null) {
+            return;
+        }
+        if (car.getBrand() != null) {
+            action.accept(brandIndex, CarQuery.key(CarQuery.Field.BRAND, car.getBrand()));
+        }
+        if (car.getType() != null) {
+            action.accept(typeIndex, CarQuery.key(CarQuery.Field.TYPE, car.getType()));
+        }
+        if (car.getPrices() != null) {
+            car.getPrices().forEach((currency, price) -> {
+                if (currency != null && price != null) {
+                    action.accept(currencyIndex, currency);
+                }
+            });
+        }
+    }
+
+    private void growColumns() {
+        capacity *= 2;
+        normalizedPrices = Arrays.copyOf(normalizedPrices, capacity);
+        brandIdColumn = Arrays.copyOf(brandIdColumn, capacity);
+        priceColumns.replaceAll((currency, column) -> {
+            long[] grown = Arrays.copyOf(column, capacity);
+            Arrays.fill(grown, column.length, capacity, MISSING_PRICE);
+            return grown;
+        });
+    }
+
+    private long[] priceColumn(String currency) {
+        return priceColumns.computeIfAbsent(currency, key -> {
+            long[] column = new long[capacity];
+            Arrays.fill(column, MISSING_PRICE);
+            return column;
+        });
+    }
+
+    private long normalize(Car car) {
+        return fxRates == null || car == null ? FxRateTable.NO_PRICE : fxRates.normalizedMinorUnits(car.getPrices());
+    }
+
+    private void requireFxRates() {
+        if (fxRates == null) {
+            throw new IllegalStateException("No FX rates have been applied");
+        }
+    }
+
+    /**
+     * Rewrites the live rows to the front once tombstones outnumber them, so
+     * scans, bitmaps and columns stop growing with deleted cars. Row order
+     * and the stored car instances are kept.
+     */
+    private void compactIfSparse() {
+        int live = liveRows.cardinality();
+        int tombstones = rows.size() - live;
+        if (tombstones < MIN_COMPACTION_TOMBSTONES || tombstones <= live) {
+            return;
+        }
+        List<Car> liveCars = materialize(liveRows);
+        lastCompactedRows = (BitSet) liveRows.clone();
+        compactions++;
+        rows.clear();
+        liveRows.clear();
+        brandIndex.clear();
+        typeIndex.clear();
+        currencyIndex.clear();
+        brandIds.clear();
+        priceColumns.clear();
+        priceDigests.clear();
+        modelIndex = new ModelSearchIndex();
+        capacity = 16;
+        normalizedPrices = new long[capacity];
+        brandIdColumn = new long[capacity];
+        liveCars.forEach(this::appendRow);
+    }
+
+    private void unindexRow(int row) {
+        liveRows.clear(row);
+        forEachIndexKey(rows.get(row), (index, key) -> {
+            BitSet keyRows = index.get(key);
+            keyRows.clear(row);
+            if (keyRows.isEmpty()) {
+                index.remove(key);
+            }
+        });
     }
-}
\ No newline at end of file
+}
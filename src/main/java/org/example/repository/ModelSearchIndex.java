@@ -0,0 +1,193 @@
+package org.example.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case-insensitive search over model names. Each distinct model gets an id
+ * in order of first appearance and a list of the rows that carry it. A trie
+ * over the model keys answers prefix queries in model-name order, and
+ * trigram posting lists of model ids narrow substring queries to a few
+ * candidates that are then verified. Not thread-safe; the owning repository
+ * guards it with its lock.
+ */
+class ModelSearchIndex {
+    private final Map<String, Integer> modelIds = new HashMap<>();
+    private final List<String> modelKeys = new ArrayList<>();
+    private final List<IntList> modelRows = new ArrayList<>();
+    private final Map<Long, IntList> trigramPostings = new HashMap<>();
+    private final TrieNode root = new TrieNode();
+
+    void add(String model, int row) {
+        if (model == null) {
+            return;
+        }
+        String key = BrandKey.of(model);
+        Integer id = modelIds.get(key);
+        if (id == null) {
+            id = modelKeys.size();
+            modelIds.put(key, id);
+            modelKeys.add(key);
+            modelRows.add(new IntList());
+            insertIntoTrie(key, id);
+            indexTrigrams(key, id);
+        }
+        modelRows.get(id).add(row);
+    }
+
+    /**
+     * Returns up to {@code limit} live rows whose model contains
+     * {@code query}: prefix matches first in model-name order, then other
+     * substring matches in order of each model's first appearance. Rows of
+     * one model keep insertion order.
+     */
+    int[] search(String query, int limit, BitSet liveRows) {
+        String key = BrandKey.of(query);
+        IntList result = new IntList();
+        TrieNode prefixNode = find(key);
+        if (prefixNode != null) {
+            collectPrefix(prefixNode, limit, liveRows, result);
+        }
+        if (result.size < limit) {
+            collectSubstrings(key, limit, liveRows, result);
+        }
+        return Arrays.copyOf(result.items, result.size);
+    }
+
+    private void collectPrefix(TrieNode node, int limit, BitSet liveRows, IntList result) {
+        if (node.modelId >= 0) {
+            addLiveRows(node.modelId, limit, liveRows, result);
+        }
+        for (int i = 0; i < node.childCount && result.size < limit; i++) {
+            collectPrefix(node.children[i], limit, liveRows, result);
+        }
+    }
+
+    private void collectSubstrings(String key, int limit, BitSet liveRows, IntList result) {
+        if (key.length() < 3) {
+            for (int id = 0; id < modelKeys.size() && result.size < limit; id++) {
+                if (isNonPrefixMatch(modelKeys.get(id), key)) {
+                    addLiveRows(id, limit, liveRows, result);
+                }
+            }
+            return;
+        }
+        List<IntList> postings = new ArrayList<>();
+        for (int i = 0; i + 3 <= key.length(); i++) {
+            IntList posting = trigramPostings.get(trigram(key, i));
+            if (posting == null) {
+                return;
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(posting -> posting.size));
+        IntList smallest = postings.get(0);
+        for (int i = 0; i < smallest.size && result.size < limit; i++) {
+            int id = smallest.items[i];
+            if (inAll(postings, id) && isNonPrefixMatch(modelKeys.get(id), key)) {
+                addLiveRows(id, limit, liveRows, result);
+            }
+        }
+    }
+
+    private static boolean inAll(List<IntList> postings, int id) {
+        for (int i = 1; i < postings.size(); i++) {
+            IntList posting = postings.get(i);
+            if (Arrays.binarySearch(posting.items, 0, posting.size, id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNonPrefixMatch(String modelKey, String key) {
+        return !modelKey.startsWith(key) && modelKey.contains(key);
+    }
+
+    private void addLiveRows(int id, int limit, BitSet liveRows, IntList result) {
+        IntList rows = modelRows.get(id);
+        for (int i = 0; i < rows.size && result.size < limit; i++) {
+            if (liveRows.get(rows.items[i])) {
+                result.add(rows.items[i]);
+            }
+        }
+    }
+
+    private void indexTrigrams(String key, int id) {
+        for (int i = 0; i + 3 <= key.length(); i++) {
+            IntList posting = trigramPostings.computeIfAbsent(trigram(key, i), t -> new IntList());
+            if (posting.size == 0 || posting.items[posting.size - 1] != id) {
+                posting.add(id);
+            }
+        }
+    }
+
+    private static long trigram(String key, int offset) {
+        return ((long) key.charAt(offset) << 32) | ((long) key.charAt(offset + 1) << 16) | key.charAt(offset + 2);
+    }
+
+    private void insertIntoTrie(String key, int id) {
+        TrieNode node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childFor(key.charAt(i));
+        }
+        node.modelId = id;
+    }
+
+    private TrieNode find(String key) {
+        TrieNode node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    /** Trie node with children kept sorted by label for ordered traversal. */
+    private static final class TrieNode {
+        private char[] labels = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private int childCount;
+        private int modelId = -1;
+
+        TrieNode child(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        TrieNode childFor(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == labels.length) {
+                labels = Arrays.copyOf(labels, Math.max(2, childCount * 2));
+                children = Arrays.copyOf(children, labels.length);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            TrieNode child = new TrieNode();
+            labels[insertAt] = label;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+    }
+
+    private static final class IntList {
+        private int[] items = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.repository;
+
+import java.util.Arrays;
+
+/**
+ * Equi-depth histogram over one currency's minor-unit price column. Each of
+ * the buckets holds the same share of the values; estimates interpolate
+ * linearly inside a bucket. Built from an evenly spaced sample of the
+ * column, so building costs the same for any table size.
+ */
+final class PriceHistogram {
+    static final int SAMPLE_SIZE = 4096;
+    private static final int BUCKETS = 64;
+
+    private final long[] bounds;
+    private final long valueCount;
+
+    private PriceHistogram(long[] bounds, long valueCount) {
+        this.bounds = bounds;
+        this.valueCount = valueCount;
+    }
+
+    /**
+     * @param sample     sampled prices; sorted in place
+     * @param valueCount number of rows the sample stands for
+     */
+    static PriceHistogram of(long[] sample, long valueCount) {
+        if (sample.length == 0) {
+            return new PriceHistogram(new long[0], 0);
+        }
+        Arrays.sort(sample);
+        int buckets = Math.min(BUCKETS, sample.length);
+        long[] bounds = new long[buckets + 1];
+        for (int i = 0; i <= buckets; i++) {
+            bounds[i] = sample[(int) ((long) i * (sample.length - 1) / buckets)];
+        }
+        return new PriceHistogram(bounds, valueCount);
+    }
+
+    long getValueCount() {
+        return valueCount;
+    }
+
+    /** Estimated number of values within {@code [min, max]}. */
+    double estimateRows(long min, long max) {
+        if (valueCount == 0 || min > max) {
+            return 0;
+        }
+        double fraction = fractionAtMost(max) - (min == Long.MIN_VALUE ? 0 : fractionAtMost(min - 1));
+        return Math.max(0, fraction) * valueCount;
+    }
+
+    private double fractionAtMost(long value) {
+        int buckets = bounds.length - 1;
+        if (value < bounds[0]) {
+            return 0;
+        }
+        if (value >= bounds[buckets]) {
+            return 1;
+        }
+        int low = 0;
+        int high = buckets - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (bounds[mid] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        double width = (double) bounds[low + 1] - bounds[low];
+        return (low + ((double) value - bounds[low]) / width) / buckets;
+    }
+}
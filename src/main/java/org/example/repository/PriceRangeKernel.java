@@ -0,0 +1,32 @@
+package org.example.repository;
+
+/**
+ * Evaluates "price within range and brand matches" over primitive columns
+ * and ORs the matching rows into a selection bitmap (bit {@code i} of word
+ * {@code i / 64} for row {@code i}).
+ */
+public interface PriceRangeKernel {
+    /** Brand id that matches every row. */
+    long ANY_BRAND = -1;
+
+    void select(long[] prices, long[] brandIds, int rowCount,
+                long minPrice, long maxPrice, long brandId, long[] selection);
+
+    /**
+     * Returns the SIMD kernel when the {@code jdk.incubator.vector} module is
+     * enabled ({@code --add-modules jdk.incubator.vector}), otherwise the
+     * scalar kernel.
+     */
+    static PriceRangeKernel best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (PriceRangeKernel) Class.forName("org.example.repository.VectorPriceRangeKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector kernel unavailable, using scalar filter: " + e.getMessage());
+            }
+        }
+        return new ScalarPriceRangeKernel();
+    }
+}
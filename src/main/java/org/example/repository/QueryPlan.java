@@ -0,0 +1,124 @@
+package org.example.repository;
+
+import org.example.strategy.FilterDescriptor;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The access path chosen for a filter, with the estimates of every path
+ * that was considered. After execution the plan can carry the actual
+ * candidate and result counts, and {@link #explain()} renders both.
+ */
+public final class QueryPlan {
+    /** Marks a count that is unknown or not yet measured. */
+    public static final long UNKNOWN = -1;
+
+    private final FilterDescriptor descriptor;
+    private final long totalRows;
+    private final AccessPath accessPath;
+    private final Map<AccessPath, Estimate> estimates;
+    private final String sort;
+    private final SortPlacement sortPlacement;
+    private final long actualCandidates;
+    private final long actualRows;
+
+    QueryPlan(FilterDescriptor descriptor, long totalRows, AccessPath accessPath, Map<AccessPath, Estimate> estimates) {
+        this(descriptor, totalRows, accessPath, estimates, null, null, UNKNOWN, UNKNOWN);
+    }
+
+    private QueryPlan(FilterDescriptor descriptor, long totalRows, AccessPath accessPath,
+                      Map<AccessPath, Estimate> estimates, String sort, SortPlacement sortPlacement,
+                      long actualCandidates, long actualRows) {
+        this.descriptor = Objects.requireNonNull(descriptor, "Descriptor cannot be null");
+        this.totalRows = totalRows;
+        this.accessPath = Objects.requireNonNull(accessPath, "Access path cannot be null");
+        this.estimates = Collections.unmodifiableMap(new EnumMap<>(estimates));
+        this.sort = sort;
+        this.sortPlacement = sortPlacement;
+        this.actualCandidates = actualCandidates;
+        this.actualRows = actualRows;
+    }
+
+    /** Plan for repositories without statistics: scan everything. */
+    public static QueryPlan fullScan(FilterDescriptor descriptor, long totalRows) {
+        return new QueryPlan(descriptor, totalRows, AccessPath.FULL_SCAN,
+                Map.of(AccessPath.FULL_SCAN, new Estimate(totalRows, totalRows * (QueryPlanner.MATERIALIZE_COST + QueryPlanner.RESIDUAL_COST))));
+    }
+
+    public FilterDescriptor getDescriptor() { return descriptor; }
+    public long getTotalRows() { return totalRows; }
+    public AccessPath getAccessPath() { return accessPath; }
+    public Map<AccessPath, Estimate> getEstimates() { return estimates; }
+    public double getEstimatedRows() { return estimates.get(accessPath).getRows(); }
+    public double getEstimatedCost() { return estimates.get(accessPath).getCost(); }
+    public String getSort() { return sort; }
+    public SortPlacement getSortPlacement() { return sortPlacement; }
+    public long getActualCandidates() { return actualCandidates; }
+    public long getActualRows() { return actualRows; }
+
+    public QueryPlan withSort(String sort, SortPlacement placement) {
+        return new QueryPlan(descriptor, totalRows, accessPath, estimates, sort, placement, actualCandidates, actualRows);
+    }
+
+    public QueryPlan withActual(long candidates, long rows) {
+        return new QueryPlan(descriptor, totalRows, accessPath, estimates, sort, sortPlacement, candidates, rows);
+    }
+
+    /**
+     * Multi-line description of the chosen plan, its estimate against the
+     * measured counts, and the alternatives that were rejected.
+     */
+    public String explain() {
+        StringBuilder out = new StringBuilder("Filter ").append(describe()).append(" over ").append(totalRows).append(" rows\n");
+        if (sort != null) {
+            out.append("  sort ").append(sort).append(": ").append(sortPlacement).append('\n');
+        }
+        out.append(String.format("  -> %s: est. %.0f candidates, cost %.0f", accessPath, getEstimatedRows(), getEstimatedCost()));
+        if (actualCandidates != UNKNOWN) {
+            out.append("; actual ").append(actualCandidates).append(" candidates, ").append(actualRows).append(" rows");
+        }
+        out.append('\n');
+        estimates.forEach((path, estimate) -> {
+            if (path != accessPath) {
+                out.append(String.format("     %s: est. %.0f candidates, cost %.0f", path, estimate.getRows(), estimate.getCost()))
+                        .append('\n');
+            }
+        });
+        return out.toString();
+    }
+
+    private String describe() {
+        StringBuilder out = new StringBuilder();
+        descriptor.getBrand().ifPresent(brand -> out.append("brand=").append(brand).append(' '));
+        if (descriptor.hasPriceRange()) {
+            out.append(descriptor.getCurrency().orElseThrow())
+                    .append(" [").append(descriptor.getMinPrice().map(Object::toString).orElse("-inf"))
+                    .append(", ").append(descriptor.getMaxPrice().map(Object::toString).orElse("+inf")).append("] ");
+        }
+        descriptor.getStartDate().ifPresent(start -> out.append("released ").append(start)
+                .append("..").append(descriptor.getEndDate().map(Object::toString).orElse("")).append(' '));
+        return out.length() == 0 ? "(all)" : out.toString().trim();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+
+    /** Estimated candidate rows and cost of one access path. */
+    public static final class Estimate {
+        private final double rows;
+        private final double cost;
+
+        Estimate(double rows, double cost) {
+            this.rows = rows;
+            this.cost = cost;
+        }
+
+        public double getRows() { return rows; }
+        public double getCost() { return cost; }
+    }
+}
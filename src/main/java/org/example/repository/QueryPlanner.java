@@ -0,0 +1,93 @@
+package org.example.repository;
+
+import org.example.strategy.FilterDescriptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Cost model for choosing an {@link AccessPath} and a {@link SortPlacement}.
+ * Costs are in abstract units of roughly one simple row operation; every
+ * candidate a path returns also pays for materializing it and for the
+ * exact residual predicate the service applies afterwards. Selectivities
+ * of different columns are assumed independent.
+ */
+public final class QueryPlanner {
+    static final double RESIDUAL_COST = 8;
+    static final double MATERIALIZE_COST = 1;
+    static final double KERNEL_ROW_COST = 0.5;
+    static final double BITMAP_WORD_COST = 1;
+    static final double SORT_COST = 4;
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * Row counts a plan is costed from. Counts that do not apply to a
+     * descriptor (no brand, no price range) are ignored.
+     */
+    static final class Statistics {
+        final long totalRows;
+        final long brandRows;
+        final long currencyRows;
+        final double priceRangeRows;
+
+        Statistics(long totalRows, long brandRows, long currencyRows, double priceRangeRows) {
+            this.totalRows = totalRows;
+            this.brandRows = brandRows;
+            this.currencyRows = currencyRows;
+            this.priceRangeRows = priceRangeRows;
+        }
+    }
+
+    static QueryPlan plan(FilterDescriptor descriptor, Statistics stats) {
+        double n = stats.totalRows;
+        double words = Math.ceil(n / 64);
+        double perCandidate = MATERIALIZE_COST + RESIDUAL_COST;
+        boolean hasBrand = descriptor.getBrand().isPresent();
+        double brandShare = hasBrand && n > 0 ? stats.brandRows / n : 1;
+
+        Map<AccessPath, QueryPlan.Estimate> estimates = new EnumMap<>(AccessPath.class);
+        estimates.put(AccessPath.FULL_SCAN, new QueryPlan.Estimate(n, n * perCandidate));
+        if (hasBrand) {
+            estimates.put(AccessPath.BRAND_INDEX,
+                    new QueryPlan.Estimate(stats.brandRows, words * BITMAP_WORD_COST + stats.brandRows * perCandidate));
+        }
+        if (descriptor.hasPriceRange()) {
+            double rows = stats.priceRangeRows * brandShare;
+            estimates.put(AccessPath.PRICE_KERNEL,
+                    new QueryPlan.Estimate(rows, n * KERNEL_ROW_COST + words * BITMAP_WORD_COST + rows * perCandidate));
+            if (hasBrand) {
+                double both = stats.currencyRows * brandShare;
+                estimates.put(AccessPath.BITMAP_INTERSECTION,
+                        new QueryPlan.Estimate(both, 2 * words * BITMAP_WORD_COST + both * perCandidate));
+            }
+        }
+
+        AccessPath cheapest = AccessPath.FULL_SCAN;
+        for (Map.Entry<AccessPath, QueryPlan.Estimate> entry : estimates.entrySet()) {
+            if (entry.getValue().getCost() < estimates.get(cheapest).getCost()) {
+                cheapest = entry.getKey();
+            }
+        }
+        return new QueryPlan(descriptor, stats.totalRows, cheapest, estimates);
+    }
+
+    /**
+     * Filtering a current sorted view costs one residual check per row and
+     * no sort; otherwise the survivors of the plan are sorted.
+     */
+    public static SortPlacement placeSort(QueryPlan plan, boolean sortedViewFresh) {
+        if (!sortedViewFresh) {
+            return SortPlacement.FILTER_THEN_SORT;
+        }
+        double rows = plan.getEstimatedRows();
+        double filterThenSort = plan.getEstimatedCost() + rows * log2(rows + 1) * SORT_COST;
+        double filterView = plan.getTotalRows() * RESIDUAL_COST;
+        return filterView < filterThenSort ? SortPlacement.FILTER_SORTED_VIEW : SortPlacement.FILTER_THEN_SORT;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
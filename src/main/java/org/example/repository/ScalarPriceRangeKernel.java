@@ -0,0 +1,20 @@
+package org.example.repository;
+
+public class ScalarPriceRangeKernel implements PriceRangeKernel {
+
+    @Override
+    public void select(long[] prices, long[] brandIds, int rowCount,
+                       long minPrice, long maxPrice, long brandId, long[] selection) {
+        selectRange(prices, brandIds, 0, rowCount, minPrice, maxPrice, brandId, selection);
+    }
+
+    static void selectRange(long[] prices, long[] brandIds, int from, int to,
+                            long minPrice, long maxPrice, long brandId, long[] selection) {
+        for (int row = from; row < to; row++) {
+            long price = prices[row];
+            if (price >= minPrice && price <= maxPrice && (brandId == ANY_BRAND || brandIds[row] == brandId)) {
+                selection[row >>> 6] |= 1L << row;
+            }
+        }
+    }
+}
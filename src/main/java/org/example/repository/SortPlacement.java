@@ -0,0 +1,11 @@
+package org.example.repository;
+
+/**
+ * Where a sort runs relative to the filter of a filtered, sorted query.
+ */
+public enum SortPlacement {
+    /** Produce candidates, filter them, then sort the survivors. */
+    FILTER_THEN_SORT,
+    /** Filter an already sorted, current view; no sort is needed. */
+    FILTER_SORTED_VIEW
+}
@@ -0,0 +1,35 @@
+package org.example.repository;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel on the incubating Vector API. Each iteration compares one
+ * vector of prices (and brand ids) and writes the lane mask straight into
+ * the selection bitmap; the species has at most 64 lanes and a power-of-two
+ * width, so a mask never straddles two bitmap words. Only instantiate
+ * through {@link PriceRangeKernel#best()}.
+ */
+public class VectorPriceRangeKernel implements PriceRangeKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void select(long[] prices, long[] brandIds, int rowCount,
+                       long minPrice, long maxPrice, long brandId, long[] selection) {
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(rowCount);
+        int row = 0;
+        for (; row < bound; row += lanes) {
+            LongVector price = LongVector.fromArray(SPECIES, prices, row);
+            VectorMask<Long> match = price.compare(VectorOperators.GE, minPrice)
+                    .and(price.compare(VectorOperators.LE, maxPrice));
+            if (brandId != ANY_BRAND) {
+                match = match.and(LongVector.fromArray(SPECIES, brandIds, row).compare(VectorOperators.EQ, brandId));
+            }
+            selection[row >>> 6] |= match.toLong() << (row & 63);
+        }
+        ScalarPriceRangeKernel.selectRange(prices, brandIds, row, rowCount, minPrice, maxPrice, brandId, selection);
+    }
+}
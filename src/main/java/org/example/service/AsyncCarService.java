@@ -0,0 +1,111 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.strategy.SortSpec;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over {@link CarService}. Each call runs on its own
+ * virtual thread, so callers in a request-handling tier never park a
+ * platform thread on a scan. Sorts can instead be sent to a CPU-bound pool.
+ * <p>
+ * Cancelling a returned future with {@code cancel(true)} interrupts the
+ * worker; {@code CarService} checks the interrupt between scan chunks and
+ * abandons the query.
+ */
+public class AsyncCarService implements AutoCloseable {
+    private final CarService carService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService sortExecutor;
+
+    public AsyncCarService(CarService carService) {
+        this(carService, null);
+    }
+
+    /**
+     * @param sortExecutor pool for sorts, typically sized to the CPU count;
+     *                     owned by the caller. {@code null} runs sorts on
+     *                     virtual threads too.
+     */
+    public AsyncCarService(CarService carService, ExecutorService sortExecutor) {
+        this.carService = Objects.requireNonNull(carService, "CarService cannot be null");
+        this.sortExecutor = sortExecutor == null ? executor : sortExecutor;
+    }
+
+    public CompletableFuture<List<Car>> filterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        return submit(executor, () -> carService.filterCarsByBrandAndPrice(brand, minPrice, maxPrice));
+    }
+
+    public CompletableFuture<List<Car>> filterByBrandAndReleaseDate(String brand, LocalDate startDate, LocalDate endDate) {
+        return submit(executor, () -> carService.filterByBrandAndReleaseDate(brand, startDate, endDate));
+    }
+
+    public CompletableFuture<List<Car>> searchByModel(String query, int limit) {
+        return submit(executor, () -> carService.searchByModel(query, limit));
+    }
+
+    public CompletableFuture<List<Car>> sortCarsByPrice() {
+        return submit(sortExecutor, carService::sortCarsByPrice);
+    }
+
+    public CompletableFuture<List<Car>> sortCarsByReleaseDate() {
+        return submit(sortExecutor, carService::sortCarsByReleaseDate);
+    }
+
+    public CompletableFuture<List<Car>> sortCarsByTypeAndCurrency() {
+        return submit(sortExecutor, carService::sortCarsByTypeAndCurrency);
+    }
+
+    public CompletableFuture<List<Car>> sortCars(SortSpec spec) {
+        return submit(sortExecutor, () -> carService.sortCars(spec));
+    }
+
+    /** Stops accepting work and interrupts running virtual-thread tasks. */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static <T> CompletableFuture<T> submit(ExecutorService target, Supplier<T> work) {
+        InterruptingFuture<T> future = new InterruptingFuture<>();
+        future.attach(target.submit(() -> {
+            try {
+                future.complete(work.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }));
+        return future;
+    }
+
+    /** A CompletableFuture whose cancellation also interrupts its worker. */
+    private static final class InterruptingFuture<T> extends CompletableFuture<T> {
+        private volatile Future<?> task;
+
+        void attach(Future<?> task) {
+            this.task = task;
+            if (isCancelled()) {
+                task.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> running = task;
+            if (cancelled && running != null) {
+                running.cancel(true);
+            }
+            return cancelled;
+        }
+    }
+}
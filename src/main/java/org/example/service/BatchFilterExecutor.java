@@ -0,0 +1,142 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.repository.BrandKey;
+import org.example.strategy.FilterDescriptor;
+import org.example.strategy.FilterStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates many filters in one pass over the cars. Filters that describe a
+ * brand are routed by brand key, so each car is only tested against the
+ * filters for its own brand plus the filters without a brand. The cars are
+ * split into partitions that can run in parallel; per-partition matches are
+ * concatenated, so every result keeps the input order.
+ * <p>
+ * Only the calling thread's interrupt flag counts. A parallel batch runs in
+ * the common pool while the caller waits interruptibly; an interrupt raises a
+ * shared flag that every partition checks every {@value #CHECK_INTERVAL} cars.
+ */
+class BatchFilterExecutor {
+    private static final int[] NONE = new int[0];
+    private static final int CHECK_INTERVAL = 256;
+
+    private final List<FilterStrategy> filters;
+    private final Map<String, int[]> filtersByBrand = new HashMap<>();
+    private final int[] unroutedFilters;
+
+    BatchFilterExecutor(List<FilterStrategy> filters) {
+        this.filters = List.copyOf(filters);
+        Map<String, List<Integer>> routes = new HashMap<>();
+        List<Integer> unrouted = new ArrayList<>();
+        for (int i = 0; i < this.filters.size(); i++) {
+            int index = i;
+            this.filters.get(i).describe()
+                    .flatMap(FilterDescriptor::getBrand)
+                    .ifPresentOrElse(
+                            brand -> routes.computeIfAbsent(BrandKey.of(brand), key -> new ArrayList<>()).add(index),
+                            () -> unrouted.add(index));
+        }
+        routes.forEach((brand, indexes) -> filtersByBrand.put(brand, toArray(indexes)));
+        this.unroutedFilters = toArray(unrouted);
+    }
+
+    /**
+     * @return one immutable result list per filter, in filter order
+     */
+    List<List<Car>> execute(List<Car> cars, int partitionSize, boolean parallel) {
+        int partitions = (cars.size() + partitionSize - 1) / partitionSize;
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<List<List<Car>>> partials;
+        if (parallel) {
+            partials = await(ForkJoinPool.commonPool().submit(() -> IntStream.range(0, partitions).parallel()
+                    .mapToObj(partition -> scan(partition(cars, partition, partitionSize), cancelled))
+                    .toList()), cancelled);
+        } else {
+            partials = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                CarService.checkNotInterrupted();
+                partials.add(scan(partition(cars, partition, partitionSize), cancelled));
+            }
+        }
+
+        List<List<Car>> results = new ArrayList<>(filters.size());
+        for (int filter = 0; filter < filters.size(); filter++) {
+            List<Car> matches = new ArrayList<>();
+            for (List<List<Car>> partial : partials) {
+                matches.addAll(partial.get(filter));
+            }
+            results.add(Collections.unmodifiableList(matches));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private static List<Car> partition(List<Car> cars, int partition, int partitionSize) {
+        return cars.subList(partition * partitionSize, Math.min((partition + 1) * partitionSize, cars.size()));
+    }
+
+    /**
+     * Waits for the parallel partitions; if the caller is interrupted, stops
+     * them through {@code cancelled} and leaves the interrupt flag set.
+     */
+    private static List<List<List<Car>>> await(ForkJoinTask<List<List<List<Car>>>> task, AtomicBoolean cancelled) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Batch scan was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Batch scan failed", e.getCause());
+        }
+    }
+
+    private List<List<Car>> scan(List<Car> partition, AtomicBoolean cancelled) {
+        List<List<Car>> matches = new ArrayList<>(filters.size());
+        for (int i = 0; i < filters.size(); i++) {
+            matches.add(new ArrayList<>());
+        }
+        Map<String, int[]> routeCache = new HashMap<>();
+        int scanned = 0;
+        for (Car car : partition) {
+            if (scanned++ % CHECK_INTERVAL == 0 && cancelled.get()) {
+                throw new CancellationException("Batch scan was cancelled");
+            }
+            if (car == null) {
+                continue;
+            }
+            int[] routed = routeCache.computeIfAbsent(car.getBrand(),
+                    brand -> brand == null ? NONE : filtersByBrand.getOrDefault(BrandKey.of(brand), NONE));
+            test(car, routed, matches);
+            test(car, unroutedFilters, matches);
+        }
+        return matches;
+    }
+
+    private void test(Car car, int[] filterIndexes, List<List<Car>> matches) {
+        for (int index : filterIndexes) {
+            if (filters.get(index).filter(car)) {
+                matches.get(index).add(car);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> indexes) {
+        return indexes.isEmpty() ? NONE : indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.service;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * One brand/price filter of a batch passed to
+ * {@link CarService#filterCarsByBrandAndPrice(java.util.List)}. Null bounds
+ * are open, as in the single-query method.
+ */
+public final class BrandPriceQuery {
+    private final String brand;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+
+    public BrandPriceQuery(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.brand = Objects.requireNonNull(brand, "Brand cannot be null");
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public String getBrand() { return brand; }
+    public BigDecimal getMinPrice() { return minPrice; }
+    public BigDecimal getMaxPrice() { return maxPrice; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BrandPriceQuery that)) return false;
+        return brand.equals(that.brand) &&
+                Objects.equals(minPrice, that.minPrice) &&
+                Objects.equals(maxPrice, that.maxPrice);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(brand, minPrice, maxPrice);
+    }
+
+    @Override
+    public String toString() {
+        return "BrandPriceQuery{brand='" + brand + "', minPrice=" + minPrice + ", maxPrice=" + maxPrice + '}';
+    }
+}
@@ -1,63 +1,365 @@
 package org.example.service;
 
+import org.example.analytics.GroupBy;
+import org.example.analytics.PriceAggregator;
+import org.example.analytics.PriceStatistics;
 import org.example.factory.CarFilterFactory;
 import org.example.factory.CarSortFactory;
 import org.example.model.Car;
+import org.example.repository.CarQuery;
 import org.example.repository.CarRepository;
+import org.example.repository.CarSnapshot;
+import org.example.repository.QueryPlan;
+import org.example.repository.QueryPlanner;
+import org.example.repository.SortPlacement;
+import org.example.strategy.FilterDescriptor;
 import org.example.strategy.FilterStrategy;
+import org.example.strategy.SortSpec;
 import org.example.strategy.SortStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CarService {
+    private static final int SCAN_CHUNK_SIZE = 4096;
+    private static final int DEFAULT_QUERY_CACHE_SIZE = 1024;
+
     private final CarFilterFactory filterFactory;
     private final CarRepository carRepository;
     private final CarSortFactory sortFactory;
+    private final SortedViewCache sortedViews = new SortedViewCache();
+    private final QueryResultCache queryResults;
+    private final SingleFlight inFlight = new SingleFlight();
     public CarService(CarFilterFactory filterFactory,
                       CarRepository carRepository,
                       CarSortFactory sortFactory) {
+        this(filterFactory, carRepository, sortFactory, DEFAULT_QUERY_CACHE_SIZE);
+    }
+    public CarService(CarFilterFactory filterFactory,
+                      CarRepository carRepository,
+                      CarSortFactory sortFactory,
+                      int queryCacheSize) {
         this.filterFactory = filterFactory;
         this.carRepository = carRepository;
         this.sortFactory = sortFactory;
+        this.queryResults = new QueryResultCache(queryCacheSize);
+        sortedViews.attachTo(carRepository);
     }
     private List<Car> getAllCars() {
         return carRepository.findAll();
     }
+    private CarSnapshot snapshot() {
+        return carRepository.snapshot()
+                .orElseThrow(() -> new IllegalStateException("Repository stopped reporting versions"));
+    }
     public List<Car> filterCarsByBrandAndPrice(String brand,
                                                BigDecimal minPrice,
                                                BigDecimal maxPrice) {
-        FilterStrategy filter = filterFactory.createBrandPriceFilter(brand, minPrice, maxPrice);
-        return applyFilter(filter);
+        return cachedFilter(QueryKey.brandPrice(brand, minPrice, maxPrice),
+                () -> applyFilter(filterFactory.createBrandPriceFilter(brand, minPrice, maxPrice)));
     }
     public List<Car> filterByBrandAndReleaseDate(String brand,
                                                  LocalDate startDate,
                                                  LocalDate endDate) {
-        FilterStrategy filter = filterFactory.createBrandDateFilter(brand, startDate, endDate);
-        return applyFilter(filter);
+        return cachedFilter(QueryKey.brandDate(brand, startDate, endDate),
+                () -> applyFilter(filterFactory.createBrandDateFilter(brand, startDate, endDate)));
+    }
+    /**
+     * Lazy form of {@link #filterCarsByBrandAndPrice(String, BigDecimal, BigDecimal)}.
+     * Candidates are read and filtered only as the stream is consumed, so a
+     * short-circuiting consumer such as {@code limit(50)} stops the scan
+     * early. Streamed results bypass the query cache.
+     */
+    public Stream<Car> streamCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        return streamFilter(filterFactory.createBrandPriceFilter(brand, minPrice, maxPrice));
+    }
+    public Stream<Car> streamCarsByBrandAndReleaseDate(String brand, LocalDate startDate, LocalDate endDate) {
+        return streamFilter(filterFactory.createBrandDateFilter(brand, startDate, endDate));
+    }
+    /**
+     * Returns the first {@code limit} cars in the given order. A current
+     * sorted view is sliced; otherwise the cars are streamed through a rolling
+     * top-K that holds at most {@code limit} winners plus one scan chunk.
+     */
+    public Stream<Car> streamSortedCars(SortOrder order, int limit) {
+        Objects.requireNonNull(order, "Sort order cannot be null");
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        OptionalLong version = carRepository.getVersion();
+        if (version.isPresent()) {
+            Optional<List<Car>> view = sortedViews.getIfFresh(order, version.getAsLong());
+            if (view.isPresent()) {
+                List<Car> cars = view.get();
+                return cars.subList(0, Math.min(limit, cars.size())).stream();
+            }
+        }
+        if (limit == 0) {
+            return Stream.empty();
+        }
+        SortStrategy sorter = createSorter(order);
+        List<Car> winners = new ArrayList<>();
+        List<Car> chunk = new ArrayList<>();
+        Iterator<Car> cars = carRepository.streamCandidates(new FilterDescriptor.Builder().build()).iterator();
+        while (cars.hasNext()) {
+            chunk.add(cars.next());
+            if (chunk.size() == SCAN_CHUNK_SIZE || !cars.hasNext()) {
+                checkNotInterrupted();
+                // Earlier winners go first so ties keep repository order.
+                winners.addAll(chunk);
+                winners = new ArrayList<>(sorter.sort(winners, limit));
+                chunk.clear();
+            }
+        }
+        return Collections.unmodifiableList(winners).stream();
     }
     public List<Car> sortCarsByPrice() {
-        return applySort(sortFactory.createPriceSorter());
+        return applySort(SortOrder.PRICE);
+    }
+    public List<Car> sortCarsByPrice(int limit) {
+        return applySort(SortOrder.PRICE, limit);
     }
     public List<Car> sortCarsByReleaseDate() {
-        return applySort(sortFactory.createReleaseDateSorter());
+        return applySort(SortOrder.RELEASE_DATE);
+    }
+    public List<Car> sortCarsByReleaseDate(int limit) {
+        return applySort(SortOrder.RELEASE_DATE, limit);
     }
     public List<Car> sortCarsByTypeAndCurrency() {
-        return applySort(sortFactory.createTypeCurrencySorter());
+        return applySort(SortOrder.TYPE_AND_CURRENCY);
+    }
+    /**
+     * Sorts by the cheapest price in any currency, using the repository's
+     * precomputed normalized price column.
+     */
+    public List<Car> sortCarsByCheapestPrice() {
+        return carRepository.findAllOrderedByNormalizedPrice();
+    }
+    public List<Car> filterCarsByNormalizedPrice(BigDecimal minPrice, BigDecimal maxPrice) {
+        return carRepository.findByNormalizedPriceRange(minPrice, maxPrice);
+    }
+    public List<Car> findCars(CarQuery query) {
+        return carRepository.findMatching(query);
+    }
+    public long countCars(CarQuery query) {
+        return carRepository.count(query);
+    }
+    public List<Car> searchByModel(String query, int limit) {
+        return carRepository.searchByModel(query, limit);
+    }
+    public Map<String, Map<String, PriceStatistics>> priceStatistics(GroupBy groupBy) {
+        return PriceAggregator.aggregate(getAllCars(), groupBy);
+    }
+    /**
+     * Approximate price at {@code quantile} (for example 0.99) within one
+     * brand or type, answered from the repository's sketch.
+     */
+    public OptionalDouble priceQuantile(GroupBy groupBy, String group, String currency, double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        return carRepository.findPriceDigest(groupBy, group, currency)
+                .map(digest -> OptionalDouble.of(digest.quantile(quantile)))
+                .orElse(OptionalDouble.empty());
+    }
+    public List<Car> sortCars(SortSpec spec) {
+        return applySort(sortFactory.createSorter(spec), getAllCars());
+    }
+    public List<Car> sortCars(String specification) {
+        return sortCars(SortSpec.parse(specification));
     }
 
+    /**
+     * Returns one page of the cars in the given order. With a versioned
+     * repository the page is copied out of a materialized sorted view.
+     */
+    public List<Car> sortCarsPage(SortOrder order, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
+        OptionalLong version = carRepository.getVersion();
+        if (version.isPresent()) {
+            return sortedViews.getPage(order, version.getAsLong(), createSorter(order), this::snapshot,
+                    offset, limit);
+        }
+        List<Car> sorted = applySort(createSorter(order), getAllCars());
+        int from = Math.min(offset, sorted.size());
+        return new ArrayList<>(sorted.subList(from, (int) Math.min((long) from + limit, sorted.size())));
+    }
+
+    /**
+     * Filters and sorts in one request. The planner decides whether to filter
+     * a current sorted view or to filter first and sort the survivors.
+     */
+    public List<Car> filterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice, SortOrder order) {
+        Objects.requireNonNull(order, "Sort order cannot be null");
+        return executePlanned(filterFactory.createBrandPriceFilter(brand, minPrice, maxPrice), order).cars;
+    }
+    /**
+     * Runs the brand/price filter and returns its plan with estimated and
+     * actual row counts; see {@link QueryPlan#explain()}.
+     */
+    public QueryPlan explainFilterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        return executePlanned(filterFactory.createBrandPriceFilter(brand, minPrice, maxPrice), null).plan;
+    }
+    public QueryPlan explainFilterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice, SortOrder order) {
+        Objects.requireNonNull(order, "Sort order cannot be null");
+        return executePlanned(filterFactory.createBrandPriceFilter(brand, minPrice, maxPrice), order).plan;
+    }
+    /**
+     * Evaluates all queries in one shared pass over the cars and returns one
+     * result per query, in query order.
+     */
+    public List<List<Car>> filterCarsByBrandAndPrice(List<BrandPriceQuery> queries) {
+        return filterBatch(queries.stream()
+                .map(query -> filterFactory.createBrandPriceFilter(query.getBrand(), query.getMinPrice(), query.getMaxPrice()))
+                .toList());
+    }
+    /**
+     * Shared-scan form of running each filter separately. Large inputs are
+     * split into partitions that are scanned in parallel.
+     */
+    public List<List<Car>> filterBatch(List<FilterStrategy> filters) {
+        if (filters.isEmpty()) {
+            return List.of();
+        }
+        List<Car> cars = getAllCars();
+        return new BatchFilterExecutor(filters).execute(cars, SCAN_CHUNK_SIZE, cars.size() >= 2 * SCAN_CHUNK_SIZE);
+    }
+    public QueryCacheStats getQueryCacheStats() {
+        return queryResults.getStats();
+    }
+    public CoalescingStats getCoalescingStats() {
+        return inFlight.getStats();
+    }
+    /**
+     * Serves repeated filter queries from the result cache while the
+     * repository version is unchanged; concurrent misses for the same key
+     * share one scan. Unversioned repositories are never cached or
+     * coalesced. Release dates come from the brand repository, which is
+     * treated as immutable.
+     */
+    private List<Car> cachedFilter(QueryKey key, Supplier<List<Car>> filter) {
+        OptionalLong version = carRepository.getVersion();
+        if (version.isEmpty()) {
+            return filter.get();
+        }
+        long current = version.getAsLong();
+        return queryResults.get(key, current, () -> inFlight.execute(key, current, filter));
+    }
+    private PlannedResult executePlanned(FilterStrategy filter, SortOrder order) {
+        FilterDescriptor descriptor = filter.describe().orElseGet(() -> new FilterDescriptor.Builder().build());
+        QueryPlan plan = carRepository.plan(descriptor);
+        if (order != null) {
+            OptionalLong version = carRepository.getVersion();
+            Optional<List<Car>> view = version.isPresent()
+                    ? sortedViews.getIfFresh(order, version.getAsLong())
+                    : Optional.empty();
+            SortPlacement placement = QueryPlanner.placeSort(plan, view.isPresent());
+            plan = plan.withSort(order.name(), placement);
+            if (placement == SortPlacement.FILTER_SORTED_VIEW) {
+                List<Car> cars = filterCandidates(filter, view.get());
+                return new PlannedResult(plan.withActual(view.get().size(), cars.size()), cars);
+            }
+        }
+        List<Car> candidates = carRepository.findCandidates(plan);
+        List<Car> cars = filterCandidates(filter, candidates);
+        if (order != null) {
+            cars = Collections.unmodifiableList(applySort(createSorter(order), cars));
+        }
+        return new PlannedResult(plan.withActual(candidates.size(), cars.size()), cars);
+    }
+    private static final class PlannedResult {
+        private final QueryPlan plan;
+        private final List<Car> cars;
+
+        private PlannedResult(QueryPlan plan, List<Car> cars) {
+            this.plan = plan;
+            this.cars = cars;
+        }
+    }
     private List<Car> applyFilter(FilterStrategy filter) {
-        return getAllCars().stream()
-                .filter(Objects::nonNull)
-                .filter(filter::filter)
-                .toList();
+        List<Car> candidates = filter.describe()
+                .map(carRepository::findCandidates)
+                .orElseGet(this::getAllCars);
+        return filterCandidates(filter, candidates);
+    }
+    private Stream<Car> streamFilter(FilterStrategy filter) {
+        Stream<Car> candidates = carRepository.streamCandidates(
+                filter.describe().orElseGet(() -> new FilterDescriptor.Builder().build()));
+        return StreamSupport.stream(new LazyFilterSpliterator(candidates.iterator(), filter, SCAN_CHUNK_SIZE), false)
+                .onClose(candidates::close);
+    }
+    private List<Car> filterCandidates(FilterStrategy filter, List<Car> candidates) {
+        List<Car> result = new ArrayList<>();
+        FilterStrategy.Scan scan = filter.newScan();
+        for (int from = 0; from < candidates.size(); from += SCAN_CHUNK_SIZE) {
+            checkNotInterrupted();
+            List<Car> chunk = candidates.subList(from, Math.min(from + SCAN_CHUNK_SIZE, candidates.size()));
+            BitSet selection = scan.filterAll(chunk);
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                result.add(chunk.get(i));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+    /**
+     * Lets a cancelled {@link AsyncCarService} call stop between scan chunks.
+     * The interrupt flag is left set for the caller.
+     */
+    static void checkNotInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Car scan was interrupted");
+        }
+    }
+    /**
+     * Full sorts of a versioned repository come from the sorted view, and
+     * concurrent identical requests share one copy of it.
+     */
+    private List<Car> applySort(SortOrder order) {
+        OptionalLong version = carRepository.getVersion();
+        if (version.isPresent()) {
+            long current = version.getAsLong();
+            return inFlight.execute(QueryKey.sort(order), current,
+                    () -> sortedViews.getAll(order, current, createSorter(order), this::snapshot));
+        }
+        return applySort(createSorter(order), getAllCars());
+    }
+    private List<Car> applySort(SortOrder order, int limit) {
+        OptionalLong version = carRepository.getVersion();
+        if (version.isPresent() && limit >= 0) {
+            Optional<List<Car>> view = sortedViews.getIfFresh(order, version.getAsLong());
+            if (view.isPresent()) {
+                List<Car> cars = view.get();
+                return new ArrayList<>(cars.subList(0, Math.min(limit, cars.size())));
+            }
+        }
+        checkNotInterrupted();
+        return createSorter(order).sort(getAllCars(), limit);
     }
-    private List<Car> applySort(SortStrategy sorter) {
-        return applySort(sorter, getAllCars());
+    private SortStrategy createSorter(SortOrder order) {
+        return switch (order) {
+            case PRICE -> sortFactory.createPriceSorter();
+            case RELEASE_DATE -> sortFactory.createReleaseDateSorter();
+            case TYPE_AND_CURRENCY -> sortFactory.createTypeCurrencySorter();
+        };
     }
     private List<Car> applySort(SortStrategy sorter, List<Car> cars) {
+        checkNotInterrupted();
         return sorter.sort(cars);
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package org.example.service;
+
+/**
+ * Snapshot of the {@link CarService} request coalescing counters.
+ * {@code executions} counts computations that actually ran and
+ * {@code coalesced} counts callers that shared one of them.
+ */
+public final class CoalescingStats {
+    private final long executions;
+    private final long coalesced;
+    private final int inFlight;
+
+    CoalescingStats(long executions, long coalesced, int inFlight) {
+        this.executions = executions;
+        this.coalesced = coalesced;
+        this.inFlight = inFlight;
+    }
+
+    public long getExecutions() { return executions; }
+    public long getCoalesced() { return coalesced; }
+    public int getInFlight() { return inFlight; }
+
+    public double getCoalescedRate() {
+        long requests = executions + coalesced;
+        return requests == 0 ? 0.0 : (double) coalesced / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("executions=%d, coalesced=%d (%.1f%% of requests), in flight=%d",
+                executions, coalesced, getCoalescedRate() * 100, inFlight);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.strategy.FilterStrategy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Pulls candidates in batches and evaluates them through one
+ * {@link FilterStrategy.Scan}, so per-brand work is shared across batches.
+ * Batches start small, so a consumer that stops after a few matches evaluates
+ * few candidates, and double up to a cap, so memory stays bounded however
+ * many cars match.
+ */
+final class LazyFilterSpliterator extends Spliterators.AbstractSpliterator<Car> {
+    static final int FIRST_BATCH_SIZE = 64;
+
+    private final Iterator<Car> candidates;
+    private final FilterStrategy.Scan scan;
+    private final int maxBatchSize;
+    private final List<Car> batch = new ArrayList<>();
+    private final List<Car> matches = new ArrayList<>();
+    private int batchSize = FIRST_BATCH_SIZE;
+    private int nextMatch;
+
+    LazyFilterSpliterator(Iterator<Car> candidates, FilterStrategy filter, int maxBatchSize) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.candidates = Objects.requireNonNull(candidates, "Candidates cannot be null");
+        this.scan = Objects.requireNonNull(filter, "Filter cannot be null").newScan();
+        if (maxBatchSize < FIRST_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size cannot be below " + FIRST_BATCH_SIZE);
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Car> action) {
+        while (nextMatch == matches.size()) {
+            if (!candidates.hasNext()) {
+                return false;
+            }
+            evaluateNextBatch();
+        }
+        action.accept(matches.get(nextMatch++));
+        return true;
+    }
+
+    private void evaluateNextBatch() {
+        CarService.checkNotInterrupted();
+        batch.clear();
+        matches.clear();
+        nextMatch = 0;
+        while (batch.size() < batchSize && candidates.hasNext()) {
+            batch.add(candidates.next());
+        }
+        BitSet selection = scan.filterAll(batch);
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            matches.add(batch.get(i));
+        }
+        batchSize = Math.min(batchSize * 2, maxBatchSize);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.service;
+
+import org.example.repository.BrandKey;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Normalized parameters of a query, so equivalent calls share one cache
+ * entry or in-flight computation: brands are case-folded like the brand
+ * index, and price bounds drop trailing zeros so {@code 25000} and
+ * {@code 25000.00} match.
+ */
+final class QueryKey {
+    private final String kind;
+    private final Object[] parameters;
+
+    private QueryKey(String kind, Object... parameters) {
+        this.kind = kind;
+        this.parameters = parameters;
+    }
+
+    static QueryKey brandPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        return new QueryKey("brandPrice", BrandKey.of(brand), normalize(minPrice), normalize(maxPrice));
+    }
+
+    static QueryKey brandDate(String brand, LocalDate startDate, LocalDate endDate) {
+        return new QueryKey("brandDate", BrandKey.of(brand), startDate, endDate);
+    }
+
+    static QueryKey sort(SortOrder order) {
+        return new QueryKey("sort", order);
+    }
+
+    private static BigDecimal normalize(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QueryKey queryKey)) return false;
+        return kind.equals(queryKey.kind) && Arrays.equals(parameters, queryKey.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, Arrays.hashCode(parameters));
+    }
+
+    @Override
+    public String toString() {
+        return kind + Arrays.toString(parameters);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.service;
+
+import org.example.model.Car;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of filter results. Entries are stamped with the
+ * repository version they were computed from; the first lookup at a newer
+ * version drops every entry, since all of them are stale. Loaders run
+ * outside the lock, so a slow scan never blocks hits on other keys.
+ */
+class QueryResultCache {
+    private final int maxEntries;
+    private final Map<QueryKey, List<Car>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long version = Long.MIN_VALUE;
+
+    QueryResultCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QueryKey, List<Car>> eldest) {
+                if (size() > QueryResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for {@code key} at {@code version}, or loads,
+     * stores and returns it. {@code loader} must return an immutable list.
+     */
+    List<Car> get(QueryKey key, long version, Supplier<List<Car>> loader) {
+        synchronized (this) {
+            invalidateIfStale(version);
+            List<Car> cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        List<Car> result = loader.get();
+        synchronized (this) {
+            invalidateIfStale(version);
+            if (this.version == version) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    QueryCacheStats getStats() {
+        synchronized (this) {
+            return new QueryCacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        }
+    }
+
+    private void invalidateIfStale(long currentVersion) {
+        if (currentVersion > version) {
+            entries.clear();
+            version = currentVersion;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.service;
+
+import org.example.model.Car;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent queries: the first caller for a key and
+ * repository version runs the computation, and callers arriving while it is
+ * in flight wait for the same immutable result. Nothing is kept once the
+ * computation finishes; that is the job of the caches in front of it.
+ */
+class SingleFlight {
+    private final ConcurrentHashMap<Flight, CompletableFuture<List<Car>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    List<Car> execute(QueryKey key, long version, Supplier<List<Car>> computation) {
+        Flight flight = new Flight(key, version);
+        while (true) {
+            CompletableFuture<List<Car>> leader = new CompletableFuture<>();
+            CompletableFuture<List<Car>> running = inFlight.putIfAbsent(flight, leader);
+            if (running == null) {
+                return lead(flight, leader, computation);
+            }
+            coalesced.increment();
+            try {
+                return await(running);
+            } catch (LeaderCancelledException e) {
+                // The leader was cancelled, not this caller; run the query again.
+            }
+        }
+    }
+
+    CoalescingStats getStats() {
+        return new CoalescingStats(executions.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private List<Car> lead(Flight flight, CompletableFuture<List<Car>> future, Supplier<List<Car>> computation) {
+        executions.increment();
+        try {
+            List<Car> result = Collections.unmodifiableList(computation.get());
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, future);
+        }
+    }
+
+    private static List<Car> await(CompletableFuture<List<Car>> future) {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            // get() rethrows a leader's CancellationException unwrapped.
+            throw new LeaderCancelledException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a coalesced query");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced query failed", cause);
+        }
+    }
+
+    private static final class LeaderCancelledException extends RuntimeException {
+        private LeaderCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Flight {
+        private final QueryKey key;
+        private final long version;
+
+        private Flight(QueryKey key, long version) {
+            this.key = key;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Flight flight)) return false;
+            return version == flight.version && key.equals(flight.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, version);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.service;
+
+public enum SortOrder {
+    PRICE,
+    RELEASE_DATE,
+    TYPE_AND_CURRENCY
+}
@@ -0,0 +1,87 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.strategy.IncrementalSortStrategy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Cars kept in the order of an {@link IncrementalSortStrategy} in a balanced
+ * tree, so inserts and removals cost O(log n) and reading the order back is
+ * an in-order walk. Every car gets an increasing sequence number that breaks
+ * ties, which keeps equal cars in repository row order. Not thread-safe.
+ */
+class SortedCarIndex {
+    private final IncrementalSortStrategy strategy;
+    private final NavigableSet<Entry> entries;
+    private final Map<Car, Deque<Entry>> entriesByStoredCar = new IdentityHashMap<>();
+    private long nextSequence;
+
+    SortedCarIndex(IncrementalSortStrategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy, "Strategy cannot be null");
+        Comparator<Car> order = strategy.order();
+        this.entries = new TreeSet<>(Comparator.<Entry, Car>comparing(entry -> entry.car, order)
+                .thenComparingLong(entry -> entry.sequence));
+    }
+
+    /**
+     * Adds stored cars, which must come after every car already added in
+     * repository row order.
+     */
+    void addAll(List<Car> storedCars) {
+        List<Car> enriched = strategy.enrich(storedCars);
+        for (int i = 0; i < storedCars.size(); i++) {
+            Car stored = storedCars.get(i);
+            if (stored != null) {
+                Entry entry = new Entry(enriched.get(i), nextSequence++);
+                entries.add(entry);
+                entriesByStoredCar.computeIfAbsent(stored, car -> new ArrayDeque<>()).addLast(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the earliest remaining entry for this stored car instance.
+     */
+    void remove(Car storedCar) {
+        Deque<Entry> forCar = entriesByStoredCar.get(storedCar);
+        if (forCar == null) {
+            return;
+        }
+        entries.remove(forCar.pollFirst());
+        if (forCar.isEmpty()) {
+            entriesByStoredCar.remove(storedCar);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    List<Car> toList() {
+        List<Car> cars = new ArrayList<>(entries.size());
+        for (Entry entry : strategy.isReversed() ? entries.descendingSet() : entries) {
+            cars.add(entry.car);
+        }
+        return cars;
+    }
+
+    private static final class Entry {
+        private final Car car;
+        private final long sequence;
+
+        private Entry(Car car, long sequence) {
+            this.car = car;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.repository.CarRepository;
+import org.example.repository.CarRepositoryListener;
+import org.example.repository.CarSnapshot;
+import org.example.strategy.IncrementalSortStrategy;
+import org.example.strategy.SortStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one materialized, fully sorted copy of the data set per sort order.
+ * A view is stamped with the repository version of the snapshot it was built
+ * from and is rebuilt lazily on the first read after the version changes.
+ * <p>
+ * Once attached to a repository that reports changes, views of an
+ * {@link IncrementalSortStrategy} are instead kept in a {@link SortedCarIndex}
+ * and patched as cars are added and removed; a read after a change walks the
+ * index rather than sorting again.
+ * <p>
+ * The listener runs under the repository's write lock, so it only patches or
+ * invalidates views and never touches the map. Views are built outside any
+ * map lock and installed afterwards, which keeps the map's locks and the
+ * repository's lock from ever being held together.
+ */
+class SortedViewCache implements CarRepositoryListener {
+    private static final int BUILD_CHUNK_SIZE = 4096;
+
+    private final Map<SortOrder, SortedView> views = new ConcurrentHashMap<>();
+    private volatile boolean attached;
+
+    /**
+     * Subscribes to {@code repository}'s changes, if it reports them.
+     */
+    void attachTo(CarRepository repository) {
+        attached = repository.addListener(this);
+    }
+
+    List<Car> getAll(SortOrder order, long version, SortStrategy sorter, Supplier<CarSnapshot> snapshot) {
+        return new ArrayList<>(view(order, version, sorter, snapshot).cars());
+    }
+
+    List<Car> getPage(SortOrder order, long version, SortStrategy sorter, Supplier<CarSnapshot> snapshot,
+                      int offset, int limit) {
+        List<Car> sorted = view(order, version, sorter, snapshot).cars();
+        int from = Math.min(offset, sorted.size());
+        int to = (int) Math.min((long) from + limit, sorted.size());
+        return new ArrayList<>(sorted.subList(from, to));
+    }
+
+    /**
+     * Returns the view for {@code order} only if it is already current.
+     */
+    Optional<List<Car>> getIfFresh(SortOrder order, long version) {
+        SortedView view = views.get(order);
+        return view == null ? Optional.empty() : Optional.ofNullable(view.carsAt(version));
+    }
+
+    /**
+     * Patches incremental views that are exactly one change behind and marks
+     * every other view stale, since it can no longer become current.
+     */
+    @Override
+    public void carsChanged(List<Car> added, List<Car> removed, long previousVersion, long version) {
+        for (SortedView view : views.values()) {
+            view.apply(added, removed, previousVersion, version);
+        }
+    }
+
+    /**
+     * Builds a missing or outdated view without holding any map lock, so a
+     * rebuild never blocks readers of other views or of an older copy of this
+     * one. The view is stamped with the version its snapshot was read at,
+     * which may be newer than {@code version}, and replaces the cached view
+     * unless that one is live and at least as new. An index is filled in
+     * chunks, so an interrupted caller stops between them.
+     */
+    private SortedView view(SortOrder order, long version, SortStrategy sorter, Supplier<CarSnapshot> snapshot) {
+        SortedView current = views.get(order);
+        if (current != null && current.isAt(version)) {
+            return current;
+        }
+        CarService.checkNotInterrupted();
+        CarSnapshot cars = snapshot.get();
+        SortedView built;
+        if (attached && sorter instanceof IncrementalSortStrategy incremental) {
+            SortedCarIndex index = new SortedCarIndex(incremental);
+            List<Car> all = cars.getCars();
+            for (int from = 0; from < all.size(); from += BUILD_CHUNK_SIZE) {
+                CarService.checkNotInterrupted();
+                index.addAll(all.subList(from, Math.min(from + BUILD_CHUNK_SIZE, all.size())));
+            }
+            built = new SortedView(cars.getVersion(), index);
+        } else {
+            built = new SortedView(cars.getVersion(), sorter.sort(cars.getCars()));
+        }
+        views.merge(order, built, (cached, candidate) -> cached.supersedes(candidate) ? cached : candidate);
+        return built;
+    }
+
+    /**
+     * A sorted snapshot, optionally backed by an index that absorbs changes.
+     * All access is synchronized, since listeners patch it while readers
+     * copy it. A stale view is never current again, but keeps its data for
+     * readers that already hold it until a rebuild replaces it.
+     */
+    private static final class SortedView {
+        private final SortedCarIndex index;
+        private long version;
+        private List<Car> cars;
+        private boolean stale;
+
+        private SortedView(long version, List<Car> sorted) {
+            this.index = null;
+            this.version = version;
+            this.cars = Collections.unmodifiableList(new ArrayList<>(sorted));
+        }
+
+        private SortedView(long version, SortedCarIndex index) {
+            this.index = index;
+            this.version = version;
+        }
+
+        synchronized boolean isAt(long version) {
+            return !stale && this.version == version;
+        }
+
+        synchronized boolean supersedes(SortedView other) {
+            return !stale && version >= other.version();
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized List<Car> cars() {
+            if (cars == null) {
+                cars = Collections.unmodifiableList(index.toList());
+            }
+            return cars;
+        }
+
+        synchronized List<Car> carsAt(long version) {
+            return isAt(version) ? cars() : null;
+        }
+
+        synchronized void apply(List<Car> added, List<Car> removed, long previousVersion, long version) {
+            if (stale || index == null || this.version != previousVersion) {
+                stale = true;
+                return;
+            }
+            removed.forEach(index::remove);
+            index.addAll(added);
+            this.version = version;
+            cars = null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.service;
+
+import org.example.analytics.GroupBy;
+import org.example.analytics.PriceStatistics;
+import org.example.factory.CarFilterFactory;
+import org.example.factory.CarSortFactory;
+import org.example.metrics.MetricsRegistry;
+import org.example.model.Car;
+import org.example.repository.CarQuery;
+import org.example.repository.CarRepository;
+import org.example.repository.QueryPlan;
+import org.example.strategy.FilterStrategy;
+import org.example.strategy.SortSpec;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link CarService} that records the latency of every public query under
+ * {@code CarService.<method>}; overloads with different work get a suffix.
+ * Stream-returning methods are timed until the stream is returned, which
+ * for lazy streams excludes the scan itself. The cache statistics getters
+ * are left untimed.
+ */
+public class TimedCarService extends CarService {
+    private final MetricsRegistry metrics;
+
+    public TimedCarService(CarFilterFactory filterFactory,
+                           CarRepository carRepository,
+                           CarSortFactory sortFactory,
+                           MetricsRegistry metrics) {
+        super(filterFactory, carRepository, sortFactory);
+        this.metrics = Objects.requireNonNull(metrics, "Metrics registry cannot be null");
+    }
+
+    @Override
+    public List<Car> filterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        return time("CarService.filterCarsByBrandAndPrice", () -> super.filterCarsByBrandAndPrice(brand, minPrice, maxPrice));
+    }
+
+    @Override
+    public List<Car> filterByBrandAndReleaseDate(String brand, LocalDate startDate, LocalDate endDate) {
+        return time("CarService.filterByBrandAndReleaseDate", () -> super.filterByBrandAndReleaseDate(brand, startDate, endDate));
+    }
+
+    @Override
+    public Stream<Car> streamCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        return time("CarService.streamCarsByBrandAndPrice", () -> super.streamCarsByBrandAndPrice(brand, minPrice, maxPrice));
+    }
+
+    @Override
+    public Stream<Car> streamCarsByBrandAndReleaseDate(String brand, LocalDate startDate, LocalDate endDate) {
+        return time("CarService.streamCarsByBrandAndReleaseDate",
+                () -> super.streamCarsByBrandAndReleaseDate(brand, startDate, endDate));
+    }
+
+    @Override
+    public Stream<Car> streamSortedCars(SortOrder order, int limit) {
+        return time("CarService.streamSortedCars", () -> super.streamSortedCars(order, limit));
+    }
+
+    @Override
+    public List<Car> sortCarsByPrice() {
+        return time("CarService.sortCarsByPrice", super::sortCarsByPrice);
+    }
+
+    @Override
+    public List<Car> sortCarsByPrice(int limit) {
+        return time("CarService.sortCarsByPrice.limit", () -> super.sortCarsByPrice(limit));
+    }
+
+    @Override
+    public List<Car> sortCarsByReleaseDate() {
+        return time("CarService.sortCarsByReleaseDate", super::sortCarsByReleaseDate);
+    }
+
+    @Override
+    public List<Car> sortCarsByReleaseDate(int limit) {
+        return time("CarService.sortCarsByReleaseDate.limit", () -> super.sortCarsByReleaseDate(limit));
+    }
+
+    @Override
+    public List<Car> sortCarsByTypeAndCurrency() {
+        return time("CarService.sortCarsByTypeAndCurrency", super::sortCarsByTypeAndCurrency);
+    }
+
+    @Override
+    public List<Car> sortCarsByCheapestPrice() {
+        return time("CarService.sortCarsByCheapestPrice", super::sortCarsByCheapestPrice);
+    }
+
+    @Override
+    public List<Car> filterCarsByNormalizedPrice(BigDecimal minPrice, BigDecimal maxPrice) {
+        return time("CarService.filterCarsByNormalizedPrice", () -> super.filterCarsByNormalizedPrice(minPrice, maxPrice));
+    }
+
+    @Override
+    public List<Car> findCars(CarQuery query) {
+        return time("CarService.findCars", () -> super.findCars(query));
+    }
+
+    @Override
+    public long countCars(CarQuery query) {
+        return time("CarService.countCars", () -> super.countCars(query));
+    }
+
+    @Override
+    public List<Car> searchByModel(String query, int limit) {
+        return time("CarService.searchByModel", () -> super.searchByModel(query, limit));
+    }
+
+    @Override
+    public Map<String, Map<String, PriceStatistics>> priceStatistics(GroupBy groupBy) {
+        return time("CarService.priceStatistics", () -> super.priceStatistics(groupBy));
+    }
+
+    @Override
+    public OptionalDouble priceQuantile(GroupBy groupBy, String group, String currency, double quantile) {
+        return time("CarService.priceQuantile", () -> super.priceQuantile(groupBy, group, currency, quantile));
+    }
+
+    @Override
+    public List<Car> sortCars(SortSpec spec) {
+        return time("CarService.sortCars", () -> super.sortCars(spec));
+    }
+
+    @Override
+    public List<Car> sortCars(String specification) {
+        return time("CarService.sortCars.specification", () -> super.sortCars(specification));
+    }
+
+    @Override
+    public List<Car> sortCarsPage(SortOrder order, int offset, int limit) {
+        return time("CarService.sortCarsPage", () -> super.sortCarsPage(order, offset, limit));
+    }
+
+    @Override
+    public List<Car> filterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice, SortOrder order) {
+        return time("CarService.filterCarsByBrandAndPrice.sorted",
+                () -> super.filterCarsByBrandAndPrice(brand, minPrice, maxPrice, order));
+    }
+
+    @Override
+    public QueryPlan explainFilterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice) {
+        return time("CarService.explainFilterCarsByBrandAndPrice",
+                () -> super.explainFilterCarsByBrandAndPrice(brand, minPrice, maxPrice));
+    }
+
+    @Override
+    public QueryPlan explainFilterCarsByBrandAndPrice(String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                                                      SortOrder order) {
+        return time("CarService.explainFilterCarsByBrandAndPrice.sorted",
+                () -> super.explainFilterCarsByBrandAndPrice(brand, minPrice, maxPrice, order));
+    }
+
+    @Override
+    public List<List<Car>> filterCarsByBrandAndPrice(List<BrandPriceQuery> queries) {
+        return time("CarService.filterCarsByBrandAndPrice.batch", () -> super.filterCarsByBrandAndPrice(queries));
+    }
+
+    @Override
+    public List<List<Car>> filterBatch(List<FilterStrategy> filters) {
+        return time("CarService.filterBatch", () -> super.filterBatch(filters));
+    }
+
+    private <T> T time(String operation, Supplier<T> call) {
+        return metrics.operation(operation).time(call);
+    }
+}
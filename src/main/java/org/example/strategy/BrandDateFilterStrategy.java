@@ -5,6 +5,10 @@ import org.example.model.CarBrand;
 import org.example.repository.BrandRepository;
 
 import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -34,6 +38,39 @@ public class BrandDateFilterStrategy implements FilterStrategy {
                 .isPresent();
     }
 
+    @Override
+    public BitSet filterAll(List<Car> cars) {
+        return newScan().filterAll(cars);
+    }
+
+    /**
+     * The verdict depends only on the car's brand, so the brand comparison
+     * and release-date lookup run once per distinct brand string in the scan.
+     */
+    @Override
+    public Scan newScan() {
+        Map<String, Boolean> verdicts = new HashMap<>();
+        return cars -> {
+            BitSet selection = new BitSet(cars.size());
+            int index = 0;
+            for (Car car : cars) {
+                if (car != null && verdicts.computeIfAbsent(car.getBrand(), carBrand -> filter(car))) {
+                    selection.set(index);
+                }
+                index++;
+            }
+            return selection;
+        };
+    }
+
+    @Override
+    public Optional<FilterDescriptor> describe() {
+        return Optional.of(new FilterDescriptor.Builder()
+                .brand(brand)
+                .dateRange(startDate, endDate)
+                .build());
+    }
+
     private boolean matchesBrand(Car car) {
         return brand.equalsIgnoreCase(car.getBrand());
     }
@@ -2,6 +2,10 @@ package org.example.strategy;
 
 import org.example.model.Car;
 import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -38,6 +42,40 @@ public class BrandPriceFilterStrategy implements FilterStrategy {
         return matchesBrand(car) && matchesPriceRange(car);
     }
 
+    @Override
+    public BitSet filterAll(List<Car> cars) {
+        return newScan().filterAll(cars);
+    }
+
+    /**
+     * Compares each distinct brand string once per scan, then checks prices.
+     */
+    @Override
+    public Scan newScan() {
+        Map<String, Boolean> brandMatches = new HashMap<>();
+        return cars -> {
+            BitSet selection = new BitSet(cars.size());
+            int index = 0;
+            for (Car car : cars) {
+                if (car != null
+                        && brandMatches.computeIfAbsent(car.getBrand(), brand::equalsIgnoreCase)
+                        && matchesPriceRange(car)) {
+                    selection.set(index);
+                }
+                index++;
+            }
+            return selection;
+        };
+    }
+
+    @Override
+    public Optional<FilterDescriptor> describe() {
+        return Optional.of(new FilterDescriptor.Builder()
+                .brand(brand)
+                .priceRange(currencyCode, minPrice, maxPrice)
+                .build());
+    }
+
     private boolean matchesBrand(Car car) {
         return brand.equalsIgnoreCase(car.getBrand());
     }
@@ -0,0 +1,173 @@
+package org.example.strategy;
+
+import org.example.model.Car;
+import org.example.model.CarBrand;
+import org.example.repository.BrandRepository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sorts by a {@link SortSpec}. Each key is dictionary-encoded into a dense
+ * rank among its distinct values (nulls last in either direction). When the
+ * ranks of all keys fit together into 63 bits they are packed into a single
+ * long per car, so comparing two cars on every key costs one long compare.
+ * Wider specifications fall back to one stable pass per key, least
+ * significant first.
+ */
+public class CompiledSortStrategy implements SortStrategy {
+    private static final int PACKED_BITS = Long.SIZE - 1;
+
+    private final SortSpec spec;
+    private final BrandRepository brandRepository;
+    private final KeySorter keySorter;
+
+    public CompiledSortStrategy(SortSpec spec, BrandRepository brandRepository) {
+        this(spec, brandRepository, new KeySorter());
+    }
+
+    public CompiledSortStrategy(SortSpec spec, BrandRepository brandRepository, KeySorter keySorter) {
+        this.spec = Objects.requireNonNull(spec, "Sort specification cannot be null");
+        this.brandRepository = Objects.requireNonNull(brandRepository, "BrandRepository cannot be null");
+        this.keySorter = Objects.requireNonNull(keySorter, "KeySorter cannot be null");
+    }
+
+    @Override
+    public List<Car> sort(List<Car> cars) {
+        if (cars == null || cars.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, CarBrand> brandCache = fetchBrandsForCars(cars);
+        List<Car> enrichedCars = cars.stream()
+                .filter(Objects::nonNull)
+                .map(car -> enrichCarWithBrand(car, brandCache))
+                .collect(Collectors.toList());
+        return KeySorter.reorder(enrichedCars, sortedOrder(enrichedCars));
+    }
+
+    private int[] sortedOrder(List<Car> cars) {
+        List<SortSpec.Key> keys = spec.getKeys();
+        int[][] ranks = new int[keys.size()][];
+        int[] widths = new int[keys.size()];
+        int totalBits = 0;
+        for (int k = 0; k < keys.size(); k++) {
+            ranks[k] = rank(cars, keys.get(k));
+            widths[k] = Integer.SIZE - Integer.numberOfLeadingZeros(maxRank(ranks[k]));
+            totalBits += widths[k];
+        }
+
+        if (totalBits <= PACKED_BITS) {
+            long[] packed = new long[cars.size()];
+            for (int k = 0; k < keys.size(); k++) {
+                for (int i = 0; i < packed.length; i++) {
+                    packed[i] = (packed[i] << widths[k]) | ranks[k][i];
+                }
+            }
+            return keySorter.sortedOrder(packed);
+        }
+
+        int[] order = new int[cars.size()];
+        Arrays.setAll(order, i -> i);
+        for (int k = keys.size() - 1; k >= 0; k--) {
+            long[] permutedKeys = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                permutedKeys[i] = ranks[k][order[i]];
+            }
+            int[] pass = keySorter.sortedOrder(permutedKeys);
+            int[] next = new int[order.length];
+            for (int i = 0; i < pass.length; i++) {
+                next[i] = order[pass[i]];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int[] rank(List<Car> cars, SortSpec.Key key) {
+        Function<Car, Comparable> extractor = extractor(key);
+        Comparator<Comparable> order = comparator(key.getField());
+        Comparable[] values = new Comparable[cars.size()];
+        TreeMap<Comparable, Integer> dictionary = new TreeMap<>(order);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = extractor.apply(cars.get(i));
+            if (values[i] != null) {
+                dictionary.put(values[i], 0);
+            }
+        }
+        int distinct = dictionary.size();
+        int next = 0;
+        for (Map.Entry<Comparable, Integer> entry : dictionary.entrySet()) {
+            entry.setValue(key.isDescending() ? distinct - 1 - next : next);
+            next++;
+        }
+
+        int[] ranks = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ranks[i] = values[i] == null ? distinct : dictionary.get(values[i]);
+        }
+        return ranks;
+    }
+
+    private static int maxRank(int[] ranks) {
+        int max = 0;
+        for (int rank : ranks) {
+            max = Math.max(max, rank);
+        }
+        return max;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Function<Car, Comparable> extractor(SortSpec.Key key) {
+        return switch (key.getField()) {
+            case BRAND -> Car::getBrand;
+            case TYPE -> Car::getType;
+            case MODEL -> Car::getModel;
+            case RELEASE_DATE -> car -> Optional.ofNullable(car.getCarBrand())
+                    .map(CarBrand::getReleaseDate)
+                    .orElse(null);
+            case PRICE -> car -> Optional.ofNullable(car.getPrices())
+                    .map(prices -> prices.get(key.getCurrency()))
+                    .orElse(null);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Comparable> comparator(SortField field) {
+        return switch (field) {
+            case BRAND, TYPE, MODEL -> (a, b) -> String.CASE_INSENSITIVE_ORDER.compare((String) a, (String) b);
+            case RELEASE_DATE, PRICE -> Comparable::compareTo;
+        };
+    }
+
+    private Map<String, CarBrand> fetchBrandsForCars(List<Car> cars) {
+        Set<String> neededBrands = cars.stream()
+                .filter(car -> car != null && car.getCarBrand() == null)
+                .map(Car::getBrand)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return brandRepository.findAllByBrandIn(neededBrands).stream()
+                .collect(Collectors.toMap(CarBrand::getBrand, Function.identity(), (first, second) -> first));
+    }
+
+    private Car enrichCarWithBrand(Car car, Map<String, CarBrand> brandCache) {
+        if (car.getCarBrand() != null || car.getBrand() == null) {
+            return car;
+        }
+
+        CarBrand brand = brandCache.get(car.getBrand());
+        if (brand == null) {
+            return car;
+        }
+        return new Car.Builder()
+                .type(car.getType())
+                .brand(car.getBrand())
+                .model(car.getModel())
+                .prices(car.getPrices())
+                .carBrand(brand)
+                .build();
+    }
+}
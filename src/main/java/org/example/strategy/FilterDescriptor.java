@@ -0,0 +1,102 @@
+package org.example.strategy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Declarative view of the predicate a {@link FilterStrategy} evaluates.
+ * Repositories use it to narrow the candidate set through an index; the
+ * strategy itself is still applied to every candidate, so a descriptor only
+ * ever has to describe a superset of the matching cars.
+ */
+public final class FilterDescriptor {
+    private final String brand;
+    private final String currency;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    private FilterDescriptor(Builder builder) {
+        this.brand = builder.brand;
+        this.currency = builder.currency;
+        this.minPrice = builder.minPrice;
+        this.maxPrice = builder.maxPrice;
+        this.startDate = builder.startDate;
+        this.endDate = builder.endDate;
+    }
+
+    public Optional<String> getBrand() { return Optional.ofNullable(brand); }
+    public Optional<String> getCurrency() { return Optional.ofNullable(currency); }
+    public Optional<BigDecimal> getMinPrice() { return Optional.ofNullable(minPrice); }
+    public Optional<BigDecimal> getMaxPrice() { return Optional.ofNullable(maxPrice); }
+    public Optional<LocalDate> getStartDate() { return Optional.ofNullable(startDate); }
+    public Optional<LocalDate> getEndDate() { return Optional.ofNullable(endDate); }
+
+    public boolean hasPriceRange() {
+        return currency != null && (minPrice != null || maxPrice != null);
+    }
+
+    public static class Builder {
+        private String brand;
+        private String currency;
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private LocalDate startDate;
+        private LocalDate endDate;
+
+        public Builder brand(String brand) {
+            this.brand = brand;
+            return this;
+        }
+
+        public Builder priceRange(String currency, BigDecimal minPrice, BigDecimal maxPrice) {
+            this.currency = currency;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            return this;
+        }
+
+        public Builder dateRange(LocalDate startDate, LocalDate endDate) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            return this;
+        }
+
+        public FilterDescriptor build() {
+            return new FilterDescriptor(this);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FilterDescriptor that = (FilterDescriptor) o;
+        return Objects.equals(brand, that.brand) &&
+                Objects.equals(currency, that.currency) &&
+                Objects.equals(minPrice, that.minPrice) &&
+                Objects.equals(maxPrice, that.maxPrice) &&
+                Objects.equals(startDate, that.startDate) &&
+                Objects.equals(endDate, that.endDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(brand, currency, minPrice, maxPrice, startDate, endDate);
+    }
+
+    @Override
+    public String toString() {
+        return "FilterDescriptor{" +
+                "brand='" + brand + '\'' +
+                ", currency='" + currency + '\'' +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                '}';
+    }
+}
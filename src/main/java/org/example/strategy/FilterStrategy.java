@@ -2,6 +2,53 @@ package org.example.strategy;
 
 import org.example.model.Car;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
 public interface FilterStrategy {
     boolean filter(Car car);
-}
\ No newline at end of file
+
+    /**
+     * Describes this predicate so a repository can pick an index path.
+     * Strategies that cannot be described are evaluated by a full scan.
+     */
+    default Optional<FilterDescriptor> describe() {
+        return Optional.empty();
+    }
+
+    /**
+     * Evaluates this predicate over a whole batch: bit {@code i} is set when
+     * {@code cars.get(i)} matches. Null cars never match. Overrides resolve
+     * per-brand work once per batch instead of once per car.
+     */
+    default BitSet filterAll(List<Car> cars) {
+        BitSet selection = new BitSet(cars.size());
+        int index = 0;
+        for (Car car : cars) {
+            if (car != null && filter(car)) {
+                selection.set(index);
+            }
+            index++;
+        }
+        return selection;
+    }
+
+    /**
+     * Starts one pass over consecutive batches, such as the chunks of a large
+     * candidate list. A scan may carry per-brand work from batch to batch and
+     * is used by one thread. The default evaluates each batch on its own.
+     */
+    default Scan newScan() {
+        return this::filterAll;
+    }
+
+    /**
+     * Evaluates the batches of one pass with the contract of
+     * {@link #filterAll(List)}.
+     */
+    @FunctionalInterface
+    interface Scan {
+        BitSet filterAll(List<Car> cars);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.strategy;
+
+import org.example.model.Car;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link SortStrategy} whose order is a comparator over single cars, so a
+ * caller can keep a sorted structure up to date one car at a time instead of
+ * calling {@link #sort(List)} again.
+ * <p>
+ * {@code sort(cars)} must equal: {@link #enrich(List)} the cars, drop nulls,
+ * order them by {@link #order()} with ties in input order, and reverse the
+ * whole result if {@link #isReversed()}.
+ */
+public interface IncrementalSortStrategy extends SortStrategy {
+    /**
+     * Returns each car as {@link #sort(List)} would return it, in input
+     * order. Nulls stay null.
+     */
+    List<Car> enrich(List<Car> cars);
+
+    /**
+     * Orders enriched cars. Cars that compare equal keep their input order.
+     */
+    Comparator<Car> order();
+
+    default boolean isReversed() {
+        return false;
+    }
+}
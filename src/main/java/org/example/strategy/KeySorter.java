@@ -0,0 +1,275 @@
+package org.example.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sorts a permutation of positions by precomputed primitive {@code long} keys.
+ * Keys are extracted once per car, so no comparator runs during the sort.
+ * The sort is stable: positions with equal keys keep their input order.
+ *
+ * <p>A parallel sorter owns a dedicated, size-bounded {@link ForkJoinPool}
+ * and switches to a fork-join merge sort once the input reaches the
+ * configured threshold. Below the threshold, and for the default sequential
+ * sorter, the radix sort runs on the calling thread. The crossover point
+ * depends on core count; measure it with {@code KeySorterBenchmark}.
+ *
+ * <p>An interrupted caller stops the sort with a {@link CancellationException}
+ * between radix passes, or while it waits for the parallel merge sort. Pool
+ * workers never see the caller's interrupt, so the waiting caller raises a
+ * shared flag instead, which forked tasks check before every radix pass and
+ * before each merge.
+ */
+public class KeySorter implements AutoCloseable {
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+    private static final int MIN_LEAF_SIZE = 4096;
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    public KeySorter() {
+        this.parallelThreshold = Integer.MAX_VALUE;
+        this.pool = null;
+    }
+
+    public KeySorter(int parallelThreshold, int parallelism) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelThreshold = parallelThreshold;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Returns the positions of {@code keys} in ascending key order.
+     */
+    public int[] sortedOrder(long[] keys) {
+        if (pool == null || keys.length < parallelThreshold) {
+            return radixSort(keys, 0, keys.length, () -> Thread.currentThread().isInterrupted());
+        }
+        int leafSize = Math.max(MIN_LEAF_SIZE, keys.length / (pool.getParallelism() * 4));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        return await(pool.submit(new MergeSortTask(keys, 0, keys.length, leafSize, cancelled)), cancelled);
+    }
+
+    /**
+     * Throws if the calling thread was interrupted; the flag is left set for
+     * the caller.
+     */
+    static void checkNotInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Sort was interrupted");
+        }
+    }
+
+    private static void checkNotCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Sort was cancelled");
+        }
+    }
+
+    /**
+     * Waits for work on the pool; if the caller is interrupted, stops it
+     * through {@code cancelled} and leaves the interrupt flag set.
+     */
+    private static <T> T await(ForkJoinTask<T> task, AtomicBoolean cancelled) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Sort was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Parallel sort failed", e.getCause());
+        }
+    }
+
+    /**
+     * Runs independent tasks as fork-join subtasks on the dedicated pool when
+     * {@code size}, the amount of work they cover, reaches the parallel
+     * threshold; otherwise runs them one after another on the calling thread.
+     * Once an interrupted caller gives up, tasks that have not started yet
+     * are skipped.
+     */
+    public void runAll(List<Runnable> tasks, int size) {
+        if (pool == null || size < parallelThreshold || tasks.size() < 2) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        AtomicBoolean cancelled = new AtomicBoolean();
+        await(pool.submit(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks.stream()
+                .map(task -> ForkJoinTask.adapt(() -> {
+                    checkNotCancelled(cancelled::get);
+                    task.run();
+                }))
+                .toList()))), cancelled);
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Waits until the dedicated pool has no running or queued tasks.
+     */
+    boolean awaitQuiescence(long timeout, TimeUnit unit) {
+        return pool == null || pool.awaitQuiescence(timeout, unit);
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Stable LSD radix sort of positions {@code from..to}, eight bits per pass.
+     * Passes whose digit is the same for every key are skipped, which makes
+     * narrow keys such as epoch days cost three passes instead of eight.
+     */
+    static int[] radixSort(long[] keys, int from, int to, BooleanSupplier cancelled) {
+        int n = to - from;
+        int[] order = new int[n];
+        long[] sortKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = from + i;
+            // Flipping the sign bit maps signed order onto unsigned digit order.
+            sortKeys[i] = keys[from + i] ^ Long.MIN_VALUE;
+        }
+        if (n < INSERTION_SORT_THRESHOLD) {
+            insertionSort(sortKeys, order);
+            return order;
+        }
+
+        int[][] counts = new int[PASSES][RADIX];
+        for (long key : sortKeys) {
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        int[] orderBuffer = new int[n];
+        long[] keyBuffer = new long[n];
+        for (int pass = 0; pass < PASSES; pass++) {
+            checkNotCancelled(cancelled);
+            int[] count = counts[pass];
+            if (count[digit(sortKeys[0], pass)] == n) {
+                continue;
+            }
+            int offset = 0;
+            for (int bucket = 0; bucket < RADIX; bucket++) {
+                int size = count[bucket];
+                count[bucket] = offset;
+                offset += size;
+            }
+            for (int i = 0; i < n; i++) {
+                int target = count[digit(sortKeys[i], pass)]++;
+                keyBuffer[target] = sortKeys[i];
+                orderBuffer[target] = order[i];
+            }
+            long[] swapKeys = sortKeys;
+            sortKeys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapOrder = order;
+            order = orderBuffer;
+            orderBuffer = swapOrder;
+        }
+        return order;
+    }
+
+    /**
+     * Stable merge of two sorted position runs: on equal keys the left run,
+     * which holds the earlier positions, always wins.
+     */
+    static int[] merge(long[] keys, int[] left, int[] right) {
+        int[] merged = new int[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            merged[k++] = keys[right[j]] < keys[left[i]] ? right[j++] : left[i++];
+        }
+        while (i < left.length) {
+            merged[k++] = left[i++];
+        }
+        while (j < right.length) {
+            merged[k++] = right[j++];
+        }
+        return merged;
+    }
+
+    public static <T> List<T> reorder(List<T> items, int[] order) {
+        List<T> result = new ArrayList<>(order.length);
+        for (int position : order) {
+            result.add(items.get(position));
+        }
+        return result;
+    }
+
+    private static int digit(long key, int pass) {
+        return (int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1);
+    }
+
+    private static void insertionSort(long[] keys, int[] order) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int position = order[i];
+            int j = i - 1;
+            while (j >= 0 && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            order[j + 1] = position;
+        }
+    }
+
+    private static final class MergeSortTask extends RecursiveTask<int[]> {
+        private final long[] keys;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final AtomicBoolean cancelled;
+
+        MergeSortTask(long[] keys, int from, int to, int leafSize, AtomicBoolean cancelled) {
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= leafSize) {
+                return radixSort(keys, from, to, cancelled::get);
+            }
+            int middle = (from + to) >>> 1;
+            MergeSortTask left = new MergeSortTask(keys, from, middle, leafSize, cancelled);
+            left.fork();
+            int[] right = new MergeSortTask(keys, middle, to, leafSize, cancelled).compute();
+            int[] sortedLeft = left.join();
+            checkNotCancelled(cancelled::get);
+            return merge(keys, sortedLeft, right);
+        }
+    }
+}
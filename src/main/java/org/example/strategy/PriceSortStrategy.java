@@ -9,24 +9,33 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class PriceSortStrategy implements SortStrategy {
+public class PriceSortStrategy implements IncrementalSortStrategy {
     private static final String DEFAULT_CURRENCY = "USD";
     private static final BigDecimal DEFAULT_PRICE = BigDecimal.ZERO;
-    private static final Comparator<BigDecimal> PRICE_COMPARATOR =
-            Comparator.nullsLast(Comparator.reverseOrder()); // Highest to lowest
 
     private final String currencyCode;
     private final BrandRepository brandRepository;
+    private final KeySorter keySorter;
 
     public PriceSortStrategy(BrandRepository brandRepository) {
         this(DEFAULT_CURRENCY, brandRepository);
     }
 
+    public PriceSortStrategy(BrandRepository brandRepository, KeySorter keySorter) {
+        this(DEFAULT_CURRENCY, brandRepository, keySorter);
+    }
+
     public PriceSortStrategy(String currencyCode, BrandRepository brandRepository) {
+        this(currencyCode, brandRepository, new KeySorter());
+    }
+
+    public PriceSortStrategy(String currencyCode, BrandRepository brandRepository, KeySorter keySorter) {
         this.currencyCode = Objects.requireNonNull(currencyCode,
                 "Currency code cannot be null");
         this.brandRepository = Objects.requireNonNull(brandRepository,
                 "BrandRepository cannot be null");
+        this.keySorter = Objects.requireNonNull(keySorter,
+                "KeySorter cannot be null");
     }
 
     @Override
@@ -37,11 +46,46 @@ public class PriceSortStrategy implements SortStrategy {
 
         Map<String, CarBrand> brandCache = fetchBrandsForCars(cars);
 
-        return cars.stream()
+        List<Car> enrichedCars = cars.stream()
                 .filter(Objects::nonNull)
                 .map(car -> enrichCarWithBrand(car, brandCache))
-                .sorted(createPriceComparator())
                 .collect(Collectors.toList());
+        return KeySorter.reorder(enrichedCars, keySorter.sortedOrder(extractPriceKeys(enrichedCars)));
+    }
+
+    @Override
+    public List<Car> sort(List<Car> cars, int limit) {
+        TopKSelector.requireValidLimit(limit);
+        if (cars == null || cars.isEmpty()) {
+            return List.of();
+        }
+
+        List<Car> nonNullCars = cars.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        // The price key does not depend on brand data, so only the winners are enriched.
+        List<Car> winners = KeySorter.reorder(nonNullCars,
+                TopKSelector.select(extractPriceKeys(nonNullCars), limit));
+
+        Map<String, CarBrand> brandCache = fetchBrandsForCars(winners);
+        return winners.stream()
+                .map(car -> enrichCarWithBrand(car, brandCache))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Car> enrich(List<Car> cars) {
+        Map<String, CarBrand> brandCache = fetchBrandsForCars(cars);
+        List<Car> enriched = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            enriched.add(enrichCarWithBrand(car, brandCache));
+        }
+        return enriched;
+    }
+
+    @Override
+    public Comparator<Car> order() {
+        return Comparator.comparing(this::extractPriceSafe, Comparator.reverseOrder());
     }
 
     private Map<String, CarBrand> fetchBrandsForCars(List<Car> cars) {
@@ -76,11 +120,12 @@ public class PriceSortStrategy implements SortStrategy {
                 .build();
     }
 
-    private Comparator<Car> createPriceComparator() {
-        return Comparator.comparing(
-                this::extractPriceSafe,
-                PRICE_COMPARATOR
-        );
+    private long[] extractPriceKeys(List<Car> cars) {
+        BigDecimal[] prices = new BigDecimal[cars.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = extractPriceSafe(cars.get(i));
+        }
+        return SortKeys.priceKeys(prices, true);
     }
 
     private BigDecimal extractPriceSafe(Car car) {
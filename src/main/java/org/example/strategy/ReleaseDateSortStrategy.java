@@ -9,15 +9,19 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class ReleaseDateSortStrategy implements SortStrategy {
-    private static final Comparator<LocalDate> DATE_COMPARATOR =
-            Comparator.nullsLast(Comparator.reverseOrder());
-
+public class ReleaseDateSortStrategy implements IncrementalSortStrategy {
     private final BrandRepository brandRepository;
+    private final KeySorter keySorter;
 
     public ReleaseDateSortStrategy(BrandRepository brandRepository) {
+        this(brandRepository, new KeySorter());
+    }
+
+    public ReleaseDateSortStrategy(BrandRepository brandRepository, KeySorter keySorter) {
         this.brandRepository = Objects.requireNonNull(brandRepository,
                 "BrandRepository cannot be null");
+        this.keySorter = Objects.requireNonNull(keySorter,
+                "KeySorter cannot be null");
     }
 
     @Override
@@ -30,11 +34,54 @@ public class ReleaseDateSortStrategy implements SortStrategy {
 
         Map<String, CarBrand> brandCache = fetchBrandsForCars(cars);
 
-        return cars.stream()
+        List<Car> enrichedCars = cars.stream()
                 .filter(Objects::nonNull)
                 .map(car -> enrichCarWithBrand(car, brandCache))
-                .sorted(createReleaseDateComparator())
                 .collect(Collectors.toList());
+        long[] keys = new long[enrichedCars.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = SortKeys.dateKey(extractReleaseDate(enrichedCars.get(i)), true);
+        }
+        return KeySorter.reorder(enrichedCars, keySorter.sortedOrder(keys));
+    }
+
+    @Override
+    public List<Car> sort(List<Car> cars, int limit) {
+        Objects.requireNonNull(cars, "Car list cannot be null");
+        TopKSelector.requireValidLimit(limit);
+
+        if (cars.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, CarBrand> brandCache = fetchBrandsForCars(cars);
+        List<Car> nonNullCars = cars.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        // Rank on the looked-up release date and build enriched copies for the winners only.
+        long[] keys = new long[nonNullCars.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = SortKeys.dateKey(resolveReleaseDate(nonNullCars.get(i), brandCache), true);
+        }
+
+        return KeySorter.reorder(nonNullCars, TopKSelector.select(keys, limit)).stream()
+                .map(car -> enrichCarWithBrand(car, brandCache))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Car> enrich(List<Car> cars) {
+        Map<String, CarBrand> brandCache = fetchBrandsForCars(cars);
+        List<Car> enriched = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            enriched.add(enrichCarWithBrand(car, brandCache));
+        }
+        return enriched;
+    }
+
+    @Override
+    public Comparator<Car> order() {
+        return Comparator.comparing(this::extractReleaseDate, Comparator.nullsLast(Comparator.reverseOrder()));
     }
 
     private Map<String, CarBrand> fetchBrandsForCars(List<Car> cars) {
@@ -69,11 +116,14 @@ public class ReleaseDateSortStrategy implements SortStrategy {
                 .build();
     }
 
-    private Comparator<Car> createReleaseDateComparator() {
-        return Comparator.comparing(
-                this::extractReleaseDate,
-                DATE_COMPARATOR
-        );
+    private LocalDate resolveReleaseDate(Car car, Map<String, CarBrand> brandCache) {
+        if (car.getCarBrand() != null) {
+            return car.getCarBrand().getReleaseDate();
+        }
+        return Optional.ofNullable(car.getBrand())
+                .map(brandCache::get)
+                .map(CarBrand::getReleaseDate)
+                .orElse(null);
     }
 
     private LocalDate extractReleaseDate(Car car) {
@@ -0,0 +1,9 @@
+package org.example.strategy;
+
+public enum SortField {
+    BRAND,
+    TYPE,
+    MODEL,
+    RELEASE_DATE,
+    PRICE
+}
@@ -0,0 +1,69 @@
+package org.example.strategy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Encodes sort values as primitive {@code long} keys whose natural order is
+ * the desired sort order. Smaller keys sort first; nulls always sort last.
+ */
+final class SortKeys {
+    static final long NULL_KEY = Long.MAX_VALUE;
+    private static final int MINOR_UNIT_DIGITS = 2;
+
+    private SortKeys() {
+    }
+
+    /**
+     * Price keys in minor units (cents). If any price has sub-cent digits or
+     * does not fit in a long, every price is encoded by its rank among the
+     * distinct prices instead, which is always exact.
+     */
+    static long[] priceKeys(BigDecimal[] prices, boolean descending) {
+        long[] keys = new long[prices.length];
+        try {
+            for (int i = 0; i < prices.length; i++) {
+                keys[i] = prices[i] == null ? NULL_KEY : minorUnitKey(prices[i], descending);
+            }
+            return keys;
+        } catch (ArithmeticException e) {
+            return priceRankKeys(prices, descending);
+        }
+    }
+
+    private static long minorUnitKey(BigDecimal price, boolean descending) {
+        long key = orient(price.movePointRight(MINOR_UNIT_DIGITS).longValueExact(), descending);
+        if (key == NULL_KEY) {
+            throw new ArithmeticException("Price collides with the null key");
+        }
+        return key;
+    }
+
+    static long dateKey(LocalDate date, boolean descending) {
+        return date == null ? NULL_KEY : orient(date.toEpochDay(), descending);
+    }
+
+    private static long[] priceRankKeys(BigDecimal[] prices, boolean descending) {
+        BigDecimal[] distinct = new TreeSet<>(Arrays.stream(prices)
+                .filter(Objects::nonNull)
+                .toList())
+                .toArray(new BigDecimal[0]);
+        long[] keys = new long[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            keys[i] = prices[i] == null ? NULL_KEY
+                    : orient(Arrays.binarySearch(distinct, prices[i]), descending);
+        }
+        return keys;
+    }
+
+    /**
+     * Bitwise NOT reverses the order of every long while keeping
+     * {@link #NULL_KEY} out of reach of real values.
+     */
+    private static long orient(long key, boolean descending) {
+        return descending ? ~key : key;
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * An ordered list of sort keys, most significant first, such as
+ * "brand asc, releaseDate desc, price:EUR asc". Compile it into a
+ * {@link SortStrategy} with {@link CompiledSortStrategy}.
+ */
+public final class SortSpec {
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private final List<Key> keys;
+
+    private SortSpec(Builder builder) {
+        if (builder.keys.isEmpty()) {
+            throw new IllegalArgumentException("Sort specification needs at least one key");
+        }
+        this.keys = Collections.unmodifiableList(new ArrayList<>(builder.keys));
+    }
+
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Parses a comma-separated list of {@code field [asc|desc]} terms. Fields
+     * are {@code brand}, {@code type}, {@code model}, {@code releaseDate} and
+     * {@code price}; a price may name its currency as {@code price:EUR}.
+     */
+    public static SortSpec parse(String specification) {
+        Objects.requireNonNull(specification, "Sort specification cannot be null");
+        Builder builder = new Builder();
+        for (String term : specification.split(",")) {
+            String[] parts = term.trim().split("\\s+");
+            if (parts.length == 0 || parts[0].isEmpty() || parts.length > 2) {
+                throw new IllegalArgumentException("Invalid sort term: '" + term.trim() + "'");
+            }
+            boolean descending = parts.length == 2 && parseDescending(parts[1]);
+            String[] fieldAndCurrency = parts[0].split(":", 2);
+            SortField field = parseField(fieldAndCurrency[0]);
+            String currency = fieldAndCurrency.length == 2 ? fieldAndCurrency[1] : null;
+            if (currency != null && field != SortField.PRICE) {
+                throw new IllegalArgumentException("Only price accepts a currency: '" + term.trim() + "'");
+            }
+            builder.key(new Key(field, currency, descending));
+        }
+        return builder.build();
+    }
+
+    private static boolean parseDescending(String direction) {
+        return switch (direction.toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new IllegalArgumentException("Unknown sort direction: '" + direction + "'");
+        };
+    }
+
+    private static SortField parseField(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "brand" -> SortField.BRAND;
+            case "type" -> SortField.TYPE;
+            case "model" -> SortField.MODEL;
+            case "releasedate", "release_date" -> SortField.RELEASE_DATE;
+            case "price" -> SortField.PRICE;
+            default -> throw new IllegalArgumentException("Unknown sort field: '" + name + "'");
+        };
+    }
+
+    public static final class Key {
+        private final SortField field;
+        private final String currency;
+        private final boolean descending;
+
+        private Key(SortField field, String currency, boolean descending) {
+            this.field = Objects.requireNonNull(field, "Sort field cannot be null");
+            if (currency != null && field != SortField.PRICE) {
+                throw new IllegalArgumentException("Only price accepts a currency, not " + field);
+            }
+            this.currency = field == SortField.PRICE
+                    ? Objects.requireNonNullElse(currency, DEFAULT_CURRENCY).toUpperCase(Locale.ROOT)
+                    : null;
+            this.descending = descending;
+        }
+
+        public SortField getField() { return field; }
+        public String getCurrency() { return currency; }
+        public boolean isDescending() { return descending; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return descending == key.descending &&
+                    field == key.field &&
+                    Objects.equals(currency, key.currency);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(field, currency, descending);
+        }
+
+        @Override
+        public String toString() {
+            return (currency == null ? field.name() : field.name() + ":" + currency)
+                    + (descending ? " DESC" : " ASC");
+        }
+    }
+
+    public static class Builder {
+        private final List<Key> keys = new ArrayList<>();
+
+        public Builder ascending(SortField field) {
+            return key(new Key(field, null, false));
+        }
+
+        public Builder descending(SortField field) {
+            return key(new Key(field, null, true));
+        }
+
+        public Builder ascending(SortField field, String currency) {
+            return key(new Key(field, currency, false));
+        }
+
+        public Builder descending(SortField field, String currency) {
+            return key(new Key(field, currency, true));
+        }
+
+        private Builder key(Key key) {
+            keys.add(key);
+            return this;
+        }
+
+        public SortSpec build() {
+            return new SortSpec(this);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return keys.equals(((SortSpec) o).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return keys.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SortSpec" + keys;
+    }
+}
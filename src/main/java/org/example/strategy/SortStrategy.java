@@ -2,9 +2,20 @@ package org.example.strategy;
 
 import org.example.model.Car;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @FunctionalInterface
 public interface SortStrategy {
     List<Car> sort(List<Car> cars);
-}
\ No newline at end of file
+
+    /**
+     * Returns the first {@code limit} cars of {@link #sort(List)}. Strategies
+     * that can select the winners without ordering the whole list override this.
+     */
+    default List<Car> sort(List<Car> cars, int limit) {
+        TopKSelector.requireValidLimit(limit);
+        List<Car> sorted = sort(cars);
+        return sorted.size() <= limit ? sorted : new ArrayList<>(sorted.subList(0, limit));
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.strategy;
+
+/**
+ * Selects the first {@code k} positions of a stable key sort with a bounded
+ * heap, in O(n log k) time and O(k) extra space. Ties are broken by input
+ * position, so the result equals the first {@code k} entries of
+ * {@link KeySorter#sortedOrder(long[])}. An interrupted caller is stopped every
+ * {@value #CHECK_INTERVAL} positions.
+ */
+final class TopKSelector {
+    private static final int CHECK_INTERVAL = 4096;
+
+    private TopKSelector() {
+    }
+
+    static void requireValidLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+    }
+
+    static int[] select(long[] keys, int k) {
+        requireValidLimit(k);
+        int capacity = Math.min(k, keys.length);
+        // Max-heap on (key, position): the root is the weakest winner so far.
+        int[] heap = new int[capacity];
+        int size = 0;
+        for (int position = 0; position < keys.length; position++) {
+            if (position % CHECK_INTERVAL == 0) {
+                KeySorter.checkNotInterrupted();
+            }
+            if (size < capacity) {
+                heap[size] = position;
+                siftUp(heap, size++, keys);
+            } else if (capacity > 0 && ranksBefore(keys, position, heap[0])) {
+                heap[0] = position;
+                siftDown(heap, size, keys);
+            }
+        }
+
+        int[] winners = new int[size];
+        while (size > 0) {
+            winners[size - 1] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, keys);
+        }
+        return winners;
+    }
+
+    private static boolean ranksBefore(long[] keys, int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, long[] keys) {
+        int position = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(keys, heap[parent], position)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = position;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] keys) {
+        if (size == 0) {
+            return;
+        }
+        int position = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && ranksBefore(keys, heap[child], heap[right])) {
+                child = right;
+            }
+            if (!ranksBefore(keys, position, heap[child])) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = position;
+    }
+}
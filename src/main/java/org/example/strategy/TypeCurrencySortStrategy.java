@@ -9,31 +9,66 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class TypeCurrencySortStrategy implements SortStrategy {
+/**
+ * Groups cars by upper-cased type and orders each group by the price in the
+ * currency mapped to that type. Groups appear in the configured group order,
+ * then any other mapped types, then unmapped types, the last two
+ * alphabetically. Groups are scattered into precomputed offsets of a single
+ * array and each slice is sorted by its own task, concurrently when the
+ * {@link KeySorter} is parallel and the list reaches its threshold.
+ */
+public class TypeCurrencySortStrategy implements IncrementalSortStrategy {
     private static final String DEFAULT_CURRENCY = "USD";
+    private static final List<String> DEFAULT_GROUP_ORDER = List.of("SUV", "TRUCK", "SEDAN");
 
     private final Map<String, String> typeToCurrencyMap;
+    private final List<String> groupOrder;
     private final boolean ascending;
     private final BrandRepository brandRepository;
+    private final KeySorter keySorter;
 
     public TypeCurrencySortStrategy(BrandRepository brandRepository) {
+        this(brandRepository, new KeySorter());
+    }
+
+    public TypeCurrencySortStrategy(BrandRepository brandRepository, KeySorter keySorter) {
         this(Map.of(
                 "SUV", "EUR",
                 "SEDAN", "JPY",
                 "TRUCK", "USD"
-        ), true, brandRepository);
+        ), true, brandRepository, keySorter);
     }
 
     public TypeCurrencySortStrategy(Map<String, String> typeCurrencyMap,
                                     boolean ascending,
                                     BrandRepository brandRepository) {
+        this(typeCurrencyMap, ascending, brandRepository, new KeySorter());
+    }
+
+    public TypeCurrencySortStrategy(Map<String, String> typeCurrencyMap,
+                                    boolean ascending,
+                                    BrandRepository brandRepository,
+                                    KeySorter keySorter) {
+        this(typeCurrencyMap, DEFAULT_GROUP_ORDER, ascending, brandRepository, keySorter);
+    }
+
+    public TypeCurrencySortStrategy(Map<String, String> typeCurrencyMap,
+                                    List<String> groupOrder,
+                                    boolean ascending,
+                                    BrandRepository brandRepository,
+                                    KeySorter keySorter) {
         this.typeToCurrencyMap = typeCurrencyMap.entrySet().stream()
                 .collect(Collectors.toMap(
                         e -> e.getKey().toUpperCase(),
                         e -> e.getValue().toUpperCase()
                 ));
+        this.groupOrder = groupOrder.stream()
+                .map(String::toUpperCase)
+                .distinct()
+                .toList();
         this.ascending = ascending;
         this.brandRepository = Objects.requireNonNull(brandRepository);
+        this.keySorter = Objects.requireNonNull(keySorter);
     }
 
     @Override
@@ -45,39 +80,115 @@ public class TypeCurrencySortStrategy implements SortStrategy {
         // 1. Prepare brand cache
         Map<String, CarBrand> brandCache = fetchMissingBrands(cars);
 
-        // 2. Group and enrich cars by type
-        Map<String, List<Car>> carsGroupedByType = cars.stream()
+        // 2. Enrich and count cars per type
+        List<Car> enrichedCars = cars.stream()
                 .filter(Objects::nonNull)
                 .map(car -> enrichWithBrand(car, brandCache))
-                .collect(Collectors.groupingBy(
-                        car -> Optional.ofNullable(car.getType()).orElse("").toUpperCase()
-                ));
-        List<Car> sortedCars = new ArrayList<>();
-        for (String type : typeToCurrencyMap.keySet()) {
-            List<Car> carsOfType = carsGroupedByType.remove(type);
-            if (carsOfType != null) {
-                carsOfType.sort(createPriceComparator(typeToCurrencyMap.get(type)));
-                sortedCars.addAll(carsOfType);
-            }
+                .toList();
+        String[] types = new String[enrichedCars.size()];
+        Map<String, Integer> groupSizes = new HashMap<>();
+        for (int i = 0; i < types.length; i++) {
+            types[i] = Optional.ofNullable(enrichedCars.get(i).getType()).orElse("").toUpperCase();
+            groupSizes.merge(types[i], 1, Integer::sum);
         }
-        for (List<Car> remainingCars : carsGroupedByType.values()) {
-            remainingCars.sort(createPriceComparator(DEFAULT_CURRENCY));
-            sortedCars.addAll(remainingCars);
+
+        // 3. Lay the groups out in a single array, in group order
+        List<String> orderedTypes = new ArrayList<>(groupSizes.keySet());
+        orderedTypes.sort(groupComparator());
+        Map<String, Integer> nextSlot = new HashMap<>();
+        List<GroupSlice> slices = new ArrayList<>(orderedTypes.size());
+        int offset = 0;
+        for (String type : orderedTypes) {
+            int size = groupSizes.get(type);
+            nextSlot.put(type, offset);
+            slices.add(new GroupSlice(offset, offset + size,
+                    typeToCurrencyMap.getOrDefault(type, DEFAULT_CURRENCY)));
+            offset += size;
         }
+        Car[] sortedCars = new Car[enrichedCars.size()];
+        for (int i = 0; i < types.length; i++) {
+            sortedCars[nextSlot.merge(types[i], 1, Integer::sum) - 1] = enrichedCars.get(i);
+        }
+
+        // 4. Sort every group slice in place
+        List<Runnable> tasks = slices.stream()
+                .<Runnable>map(slice -> () -> sortByPrice(sortedCars, slice))
+                .toList();
+        keySorter.runAll(tasks, sortedCars.length);
 
-        return ascending ? sortedCars : reverse(sortedCars);
+        List<Car> result = Arrays.asList(sortedCars);
+        return ascending ? new ArrayList<>(result) : reverse(result);
     }
 
-    private Comparator<Car> createPriceComparator(String currency) {
-        Comparator<BigDecimal> priceComparator = Comparator.nullsLast(BigDecimal::compareTo);
-        if (!ascending) {
-            priceComparator = priceComparator.reversed();
+    @Override
+    public List<Car> enrich(List<Car> cars) {
+        Map<String, CarBrand> brandCache = fetchMissingBrands(cars);
+        List<Car> enriched = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            enriched.add(enrichWithBrand(car, brandCache));
         }
+        return enriched;
+    }
+
+    /**
+     * The order before a descending strategy reverses the whole result, ties
+     * included: prices within a group are then ordered descending with nulls
+     * first, mirroring the negated keys of {@link #sort(List)}.
+     */
+    @Override
+    public Comparator<Car> order() {
+        Comparator<BigDecimal> prices = ascending
+                ? Comparator.nullsLast(Comparator.naturalOrder())
+                : Comparator.nullsFirst(Comparator.reverseOrder());
+        return Comparator.<Car, String>comparing(TypeCurrencySortStrategy::typeOf, groupComparator())
+                .thenComparing(this::priceInTypeCurrency, prices);
+    }
+
+    @Override
+    public boolean isReversed() {
+        return !ascending;
+    }
+
+    private static String typeOf(Car car) {
+        return Optional.ofNullable(car.getType()).orElse("").toUpperCase();
+    }
+
+    private BigDecimal priceInTypeCurrency(Car car) {
+        String currency = typeToCurrencyMap.getOrDefault(typeOf(car), DEFAULT_CURRENCY);
+        return Optional.ofNullable(car.getPrices())
+                .map(p -> p.get(currency))
+                .orElse(null);
+    }
+
+    private Comparator<String> groupComparator() {
+        return Comparator.<String>comparingInt(type -> {
+                    int position = groupOrder.indexOf(type);
+                    return position >= 0 ? position : groupOrder.size();
+                })
+                .thenComparing(type -> !typeToCurrencyMap.containsKey(type))
+                .thenComparing(Comparator.naturalOrder());
+    }
 
-        return Comparator.comparing(
-                car -> Optional.ofNullable(car.getPrices()).map(p -> p.get(currency)).orElse(null),
-                priceComparator
-        );
+    private void sortByPrice(Car[] cars, GroupSlice slice) {
+        int size = slice.to - slice.from;
+        BigDecimal[] prices = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            prices[i] = Optional.ofNullable(cars[slice.from + i].getPrices())
+                    .map(p -> p.get(slice.currency))
+                    .orElse(null);
+        }
+        long[] keys = SortKeys.priceKeys(prices, false);
+        if (!ascending) {
+            // Reversing the ascending, nulls-last order puts nulls first, as the reversed comparator did.
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = ~keys[i];
+            }
+        }
+        int[] order = keySorter.sortedOrder(keys);
+        Car[] group = Arrays.copyOfRange(cars, slice.from, slice.to);
+        for (int i = 0; i < size; i++) {
+            cars[slice.from + i] = group[order[i]];
+        }
     }
 
     private List<Car> reverse(List<Car> cars) {
@@ -114,4 +225,16 @@ public class TypeCurrencySortStrategy implements SortStrategy {
                 .carBrand(fetchedBrand)
                 .build();
     }
+
+    private static final class GroupSlice {
+        private final int from;
+        private final int to;
+        private final String currency;
+
+        private GroupSlice(int from, int to, String currency) {
+            this.from = from;
+            this.to = to;
+            this.currency = currency;
+        }
+    }
 }
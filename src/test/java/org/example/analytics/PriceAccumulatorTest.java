@@ -0,0 +1,63 @@
+package org.example.analytics;
+
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceAccumulatorTest {
+
+    @Test
+    void testAdd_MatchesCommonsMathSummary() {
+        PriceAccumulator accumulator = new PriceAccumulator();
+        SummaryStatistics expected = new SummaryStatistics();
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            accumulator.add(price);
+            expected.addValue(price.doubleValue());
+        }
+
+        PriceStatistics statistics = accumulator.toStatistics();
+
+        assertEquals(expected.getN(), statistics.getN());
+        assertEquals(expected.getMean(), statistics.getMean(), 1e-6);
+        assertEquals(expected.getStandardDeviation(), statistics.getStandardDeviation(), 1e-6);
+        assertEquals(expected.getMin(), statistics.getMin());
+        assertEquals(expected.getMax(), statistics.getMax());
+    }
+
+    @Test
+    void testMerge_EqualsSinglePass() {
+        PriceAccumulator whole = new PriceAccumulator();
+        PriceAccumulator left = new PriceAccumulator();
+        PriceAccumulator right = new PriceAccumulator();
+        for (int i = 1; i <= 10; i++) {
+            BigDecimal price = BigDecimal.valueOf(i * 1000L);
+            whole.add(price);
+            (i <= 3 ? left : right).add(price);
+        }
+
+        PriceStatistics merged = left.merge(right).toStatistics();
+        PriceStatistics single = whole.toStatistics();
+
+        assertEquals(single.getN(), merged.getN());
+        assertEquals(single.getMean(), merged.getMean(), 1e-9);
+        assertEquals(single.getVariance(), merged.getVariance(), 1e-6);
+        assertEquals(BigDecimal.valueOf(1000), merged.getMinPrice());
+        assertEquals(BigDecimal.valueOf(10000), merged.getMaxPrice());
+    }
+
+    @Test
+    void testMerge_WithEmptyAccumulators() {
+        PriceAccumulator filled = new PriceAccumulator();
+        filled.add(BigDecimal.TEN);
+
+        assertEquals(filled.toStatistics(), new PriceAccumulator().merge(filled).toStatistics());
+        assertEquals(filled.toStatistics(), filled.merge(new PriceAccumulator()).toStatistics());
+        assertEquals(0.0, filled.toStatistics().getStandardDeviation());
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.analytics;
+
+import org.example.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceAggregatorTest {
+
+    private static Car car(String brand, String type, Map<String, BigDecimal> prices) {
+        return new Car.Builder().brand(brand).type(type).model("M").prices(prices).build();
+    }
+
+    @Test
+    void testAggregate_GroupsByBrandAndCurrency() {
+        List<Car> cars = Arrays.asList(
+                car("Toyota", "SUV", Map.of("USD", new BigDecimal("30000"), "EUR", new BigDecimal("28000"))),
+                car("Toyota", "SEDAN", Map.of("USD", new BigDecimal("20000"))),
+                car("Ford", "TRUCK", Map.of("USD", new BigDecimal("40000"))),
+                car(null, "SUV", Map.of("USD", BigDecimal.ONE)),
+                null);
+
+        Map<String, Map<String, PriceStatistics>> byBrand = PriceAggregator.aggregate(cars, GroupBy.BRAND);
+
+        assertEquals(List.of("Ford", "Toyota"), new ArrayList<>(byBrand.keySet()));
+        PriceStatistics toyotaUsd = byBrand.get("Toyota").get("USD");
+        assertEquals(2, toyotaUsd.getN());
+        assertEquals(25000.0, toyotaUsd.getMean(), 1e-9);
+        assertEquals(Math.sqrt(50_000_000.0), toyotaUsd.getStandardDeviation(), 1e-6);
+        assertEquals(new BigDecimal("20000"), toyotaUsd.getMinPrice());
+        assertEquals(new BigDecimal("30000"), toyotaUsd.getMaxPrice());
+        assertEquals(1, byBrand.get("Toyota").get("EUR").getN());
+    }
+
+    @Test
+    void testAggregate_ParallelPassMatchesSequentialTotals() {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            cars.add(car("B" + (i % 5), i % 2 == 0 ? "SUV" : "SEDAN", Map.of("USD", BigDecimal.valueOf(i))));
+        }
+
+        Map<String, Map<String, PriceStatistics>> byType = PriceAggregator.aggregate(cars, GroupBy.TYPE);
+
+        PriceStatistics suv = byType.get("SUV").get("USD");
+        assertEquals(25_000, suv.getN());
+        assertEquals(24_999.0, suv.getMean(), 1e-6);
+        assertEquals(BigDecimal.ZERO, suv.getMinPrice());
+        assertEquals(BigDecimal.valueOf(49_998), suv.getMaxPrice());
+    }
+
+    @Test
+    void testAggregate_GroupsIgnoringCaseUnderFirstSeenName() {
+        List<Car> cars = new ArrayList<>();
+        cars.add(car("Toyota", "SUV", Map.of("USD", new BigDecimal("10"))));
+        for (int i = 0; i < 20_000; i++) {
+            cars.add(car(i % 2 == 0 ? "toyota" : "TOYOTA", "suv", Map.of("USD", new BigDecimal("20"))));
+        }
+
+        Map<String, Map<String, PriceStatistics>> byBrand = PriceAggregator.aggregate(cars, GroupBy.BRAND);
+        Map<String, Map<String, PriceStatistics>> byType = PriceAggregator.aggregate(cars, GroupBy.TYPE);
+
+        assertEquals(List.of("Toyota"), new ArrayList<>(byBrand.keySet()));
+        assertEquals(20_001, byBrand.get("Toyota").get("USD").getN());
+        assertEquals(List.of("SUV"), new ArrayList<>(byType.keySet()));
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+
+    @Test
+    void testQuantile_ApproximatesExactPercentiles() {
+        Random random = new Random(11);
+        double[] values = new double[200_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian()) * 20_000;
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            int rank = Arrays.binarySearch(values, digest.quantile(q));
+            double estimatedQ = (rank >= 0 ? rank : -rank - 1) / (double) values.length;
+            assertEquals(q, estimatedQ, q == 0.99 ? 0.001 : 0.005, "q=" + q);
+        }
+        assertEquals(values[0], digest.quantile(0));
+        assertEquals(values[values.length - 1], digest.quantile(1));
+        assertEquals(values.length, digest.size());
+    }
+
+    @Test
+    void testMerge_MatchesSingleDigest() {
+        TDigest left = new TDigest();
+        TDigest right = new TDigest();
+        for (int i = 0; i < 100_000; i++) {
+            (i % 3 == 0 ? left : right).add(i);
+        }
+
+        left.merge(right);
+
+        assertEquals(100_000, left.size());
+        assertEquals(50_000, left.quantile(0.5), 500);
+        assertEquals(99_000, left.quantile(0.99), 200);
+    }
+
+    @Test
+    void testCopy_IsIndependent() {
+        TDigest digest = new TDigest();
+        digest.add(1);
+        TDigest copy = digest.copy();
+
+        digest.add(100);
+
+        assertEquals(1, copy.size());
+        assertEquals(1, copy.quantile(0.99));
+    }
+
+    @Test
+    void testEmptyAndInvalidInput() {
+        TDigest digest = new TDigest();
+
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> digest.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(1));
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.benchmark;
+
+import org.example.strategy.KeySorter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential radix sort with the fork-join merge sort on a
+ * dedicated pool, to find the size at which the parallel path pays off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeySorterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private long[] keys;
+    private KeySorter sequential;
+    private KeySorter parallel;
+
+    @Setup
+    public void setUp() {
+        keys = new Random(7).longs(size, 0, 10_000_000).toArray();
+        sequential = new KeySorter();
+        parallel = new KeySorter(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallel.close();
+    }
+
+    @Benchmark
+    public int[] sequentialRadix() {
+        return sequential.sortedOrder(keys);
+    }
+
+    @Benchmark
+    public int[] parallelMerge() {
+        return parallel.sortedOrder(keys);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KeySorterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
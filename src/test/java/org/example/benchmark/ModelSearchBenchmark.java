@@ -0,0 +1,75 @@
+package org.example.benchmark;
+
+import org.example.model.Car;
+import org.example.repository.CarRepository;
+import org.example.repository.InMemoryCarRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the repository's model search index with the scanning default
+ * for prefix and substring queries over a million random model names.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModelSearchBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"kav", "rimo"})
+    private String query;
+
+    private InMemoryCarRepository indexed;
+    private CarRepository scanning;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<Car> cars = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder model = new StringBuilder();
+            int length = 5 + random.nextInt(6);
+            for (int c = 0; c < length; c++) {
+                model.append((char) ('a' + random.nextInt(26)));
+            }
+            cars.add(new Car.Builder()
+                    .type("SEDAN")
+                    .brand("Brand")
+                    .model(model.append(' ').append(i % 1000).toString())
+                    .prices(Map.of("USD", BigDecimal.ONE))
+                    .build());
+        }
+        indexed = new InMemoryCarRepository(cars);
+        scanning = () -> cars;
+    }
+
+    @Benchmark
+    public List<Car> index() {
+        return indexed.searchByModel(query, 20);
+    }
+
+    @Benchmark
+    public List<Car> scan() {
+        return scanning.searchByModel(query, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ModelSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
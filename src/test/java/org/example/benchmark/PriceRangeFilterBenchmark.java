@@ -0,0 +1,81 @@
+package org.example.benchmark;
+
+import org.example.model.Car;
+import org.example.repository.InMemoryCarRepository;
+import org.example.repository.ScalarPriceRangeKernel;
+import org.example.repository.VectorPriceRangeKernel;
+import org.example.strategy.BrandPriceFilterStrategy;
+import org.example.strategy.FilterDescriptor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-car {@link BrandPriceFilterStrategy} scan with the
+ * repository's price-column candidate scan on the scalar and SIMD kernels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PriceRangeFilterBenchmark {
+    private static final String[] BRANDS = {"Toyota", "Ford", "Honda", "BMW"};
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private List<Car> cars;
+    private BrandPriceFilterStrategy strategy;
+    private FilterDescriptor descriptor;
+    private InMemoryCarRepository scalar;
+    private InMemoryCarRepository vector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        cars = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cars.add(new Car.Builder()
+                    .type("SEDAN")
+                    .brand(BRANDS[random.nextInt(BRANDS.length)])
+                    .model("Model " + i)
+                    .prices(Map.of("USD", BigDecimal.valueOf(random.nextInt(10_000_000), 2)))
+                    .build());
+        }
+        strategy = new BrandPriceFilterStrategy("Toyota", BigDecimal.valueOf(20_000), BigDecimal.valueOf(40_000));
+        descriptor = strategy.describe().orElseThrow();
+        scalar = new InMemoryCarRepository(cars, new ScalarPriceRangeKernel());
+        vector = new InMemoryCarRepository(cars, new VectorPriceRangeKernel());
+    }
+
+    @Benchmark
+    public List<Car> strategyScan() {
+        return cars.stream().filter(strategy::filter).toList();
+    }
+
+    @Benchmark
+    public List<Car> scalarKernel() {
+        return scalar.findCandidates(descriptor);
+    }
+
+    @Benchmark
+    public List<Car> vectorKernel() {
+        return vector.findCandidates(descriptor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PriceRangeFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.fx;
+
+import org.example.model.FxRate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateTableTest {
+
+    private final FxRateTable table = FxRateTable.of("usd", List.of(
+            new FxRate.Builder().currency("EUR").rate(new BigDecimal("1.10")).build(),
+            new FxRate.Builder().currency("JPY").rate(new BigDecimal("0.0067")).build()
+    ));
+
+    @Test
+    void testNormalizedMinorUnits_PicksCheapestConvertedPrice() {
+        long normalized = table.normalizedMinorUnits(Map.of(
+                "USD", new BigDecimal("25000"),
+                "EUR", new BigDecimal("22000"),
+                "JPY", new BigDecimal("3500000")));
+
+        assertEquals(2_345_000, normalized);
+    }
+
+    @Test
+    void testNormalizedMinorUnits_IgnoresUnknownCurrencies() {
+        assertEquals(FxRateTable.NO_PRICE, table.normalizedMinorUnits(Map.of("GBP", new BigDecimal("100"))));
+        assertEquals(FxRateTable.NO_PRICE, table.normalizedMinorUnits(Map.of()));
+        assertEquals(FxRateTable.NO_PRICE, table.normalizedMinorUnits(null));
+    }
+
+    @Test
+    void testBaseCurrencyConvertsAtParity() {
+        assertEquals("USD", table.getBaseCurrency());
+        assertEquals(0, new BigDecimal("12.34").compareTo(table.toBase(new BigDecimal("12.34"), "usd").orElseThrow()));
+    }
+
+    @Test
+    void testMinorUnitBounds() {
+        assertEquals(1001, FxRateTable.ceilMinorUnits(new BigDecimal("10.001")));
+        assertEquals(1000, FxRateTable.floorMinorUnits(new BigDecimal("10.009")));
+        assertEquals(Long.MAX_VALUE, FxRateTable.floorMinorUnits(new BigDecimal("1e30")));
+    }
+}
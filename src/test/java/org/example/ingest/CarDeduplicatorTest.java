@@ -0,0 +1,81 @@
+package org.example.ingest;
+
+import org.example.model.Car;
+import org.example.model.CarBrand;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarDeduplicatorTest {
+
+    private static Car car(String brand, String model, String price) {
+        return new Car.Builder()
+                .type("SEDAN")
+                .brand(brand)
+                .model(model)
+                .prices(Map.of("USD", new BigDecimal(price), "EUR", new BigDecimal("100")))
+                .build();
+    }
+
+    @Test
+    void testDeduplicate_DropsRepeatsAcrossShardsAndKeepsOrder() {
+        CarDeduplicator deduplicator = new CarDeduplicator();
+        Car camry = car("Toyota", "Camry", "25000");
+        Car civic = car("Honda", "Civic", "22000");
+
+        List<Car> first = deduplicator.deduplicate(List.of(camry, civic, car("Toyota", "Camry", "25000")));
+        List<Car> second = deduplicator.deduplicate(Arrays.asList(car("Honda", "Civic", "22000"), null, car("Ford", "Focus", "18000")));
+
+        assertEquals(List.of(camry, civic), first);
+        assertEquals(List.of(car("Ford", "Focus", "18000")), second);
+        DedupStats stats = deduplicator.getStats();
+        assertEquals(5, stats.getReceived());
+        assertEquals(3, stats.getUnique());
+        assertEquals(2, stats.getDuplicates());
+        assertEquals(0.4, stats.getDuplicateRate(), 1e-9);
+    }
+
+    @Test
+    void testDeduplicate_SameFingerprintButDifferentCarIsKept() {
+        CarDeduplicator deduplicator = new CarDeduplicator();
+        Car toyota = car("Toyota", "Camry", "25000");
+        Car otherBrand = car("Lexus", "Camry", "25000");
+        Car withBrand = new Car.Builder()
+                .type("SEDAN").brand("Toyota").model("Camry")
+                .prices(Map.of("USD", new BigDecimal("25000"), "EUR", new BigDecimal("100")))
+                .carBrand(new CarBrand.Builder().brand("Toyota").releaseDate(LocalDate.of(2021, 1, 1)).build())
+                .build();
+
+        List<Car> unique = deduplicator.deduplicate(List.of(toyota, otherBrand, withBrand, otherBrand));
+
+        assertEquals(List.of(toyota, otherBrand, withBrand), unique);
+        assertEquals(2, deduplicator.getStats().getFingerprintCollisions());
+        assertEquals(1, deduplicator.getStats().getDuplicates());
+    }
+
+    @Test
+    void testFingerprint_EqualCarsMatchAndPriceScaleMatters() {
+        assertEquals(CarDeduplicator.fingerprint(car("A", "X", "10")), CarDeduplicator.fingerprint(car("B", "X", "10")));
+        assertNotEquals(CarDeduplicator.fingerprint(car("A", "X", "10")), CarDeduplicator.fingerprint(car("A", "X", "10.0")));
+        assertNotEquals(CarDeduplicator.fingerprint(car("A", "X", "10")), CarDeduplicator.fingerprint(car("A", "Y", "10")));
+    }
+
+    @Test
+    void testDeduplicate_GrowsTableForManyCars() {
+        CarDeduplicator deduplicator = new CarDeduplicator();
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            cars.add(car("B", "M" + (i % 2000), String.valueOf(i % 2000)));
+        }
+
+        assertEquals(2000, deduplicator.deduplicate(cars).size());
+        assertEquals(3000, deduplicator.getStats().getDuplicates());
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBuckets_AreContiguousWithinOneSixteenth() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long high = LatencyHistogram.highestEquivalentValue(bucket);
+            assertTrue(high >= value, "value " + value);
+            assertTrue(high - value <= value / 16, "value " + value);
+            if (bucket > 0) {
+                assertEquals(bucket - 1, LatencyHistogram.bucketOf(LatencyHistogram.highestEquivalentValue(bucket - 1)));
+                assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.highestEquivalentValue(bucket - 1) + 1));
+            }
+        }
+    }
+
+    @Test
+    void testValueAtQuantile_WithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5_000_000, histogram.valueAtQuantile(0.5), 5_000_000 / 16.0);
+        assertEquals(9_900_000, histogram.valueAtQuantile(0.99), 9_900_000 / 16.0);
+        assertEquals(10_000_000, histogram.valueAtQuantile(1.0));
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 1e-6);
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtQuantile(1.5));
+        assertEquals(0, new LatencyHistogram().valueAtQuantile(0.99));
+    }
+
+    @Test
+    void testRecord_ConcurrentWritersLoseNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(24_999, histogram.getMax());
+    }
+}
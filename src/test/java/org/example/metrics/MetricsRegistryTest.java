@@ -0,0 +1,61 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testOperation_PublishesMXBeanAttributes() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        try (MetricsRegistry registry = new MetricsRegistry(server, "test")) {
+            OperationMetrics metrics = registry.operation("CarService.sortCarsByPrice");
+            metrics.record(2_000_000, false);
+            metrics.record(4_000_000, true);
+            ObjectName name = new ObjectName("test:type=Operation,name=CarService.sortCarsByPrice");
+
+            assertSame(metrics, registry.operation("CarService.sortCarsByPrice"));
+            assertEquals(2L, server.getAttribute(name, "Count"));
+            assertEquals(1L, server.getAttribute(name, "ErrorCount"));
+            assertEquals(4.0, (double) server.getAttribute(name, "MaxMillis"), 1e-9);
+            assertEquals(2.0, (double) server.getAttribute(name, "P50Millis"), 2.0 / 16);
+            assertEquals(3.0, (double) server.getAttribute(name, "MeanMillis"), 1e-9);
+            assertTrue((double) server.getAttribute(name, "ThroughputPerSecond") > 0);
+
+            registry.close();
+            assertFalse(server.isRegistered(name));
+        }
+    }
+
+    @Test
+    void testOperation_ReplacesBeanOfEarlierRegistryAndValidatesNames() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        ObjectName name = new ObjectName("test:type=Operation,name=XmlParser.parse");
+        new MetricsRegistry(server, "test").operation("XmlParser.parse");
+        MetricsRegistry registry = new MetricsRegistry(server, "test");
+
+        registry.operation("XmlParser.parse").record(1, false);
+
+        assertEquals(1L, server.getAttribute(name, "Count"));
+        assertThrows(IllegalArgumentException.class, () -> registry.operation("bad,name"));
+        assertEquals(1, registry.getOperations().size());
+    }
+
+    @Test
+    void testTime_RecordsFailuresAndRethrows() {
+        OperationMetrics metrics = new MetricsRegistry().operation("op");
+
+        assertEquals("ok", metrics.time(() -> "ok"));
+        assertThrows(IllegalStateException.class, () -> metrics.time(() -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(2, metrics.getCount());
+        assertEquals(1, metrics.getErrorCount());
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedFileParserTest {
+
+    @Test
+    void testParse_RecordsSuccessAndCheckedFailure() throws Exception {
+        OperationMetrics metrics = new MetricsRegistry().operation("CsvParser.parse");
+        TimedFileParser<String> parser = new TimedFileParser<>(file -> {
+            if (!file.exists()) {
+                throw new IOException("missing " + file);
+            }
+            return List.of(file.getName());
+        }, metrics);
+        File existing = File.createTempFile("cars", ".csv");
+        existing.deleteOnExit();
+
+        assertEquals(List.of(existing.getName()), parser.parse(existing));
+        assertThrows(IOException.class, () -> parser.parse(new File("does-not-exist.csv")));
+
+        assertEquals(2, metrics.getCount());
+        assertEquals(1, metrics.getErrorCount());
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.metrics;
+
+import org.example.output.OutputFormatter;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedOutputFormatterTest {
+
+    @Test
+    void testFormat_DelegatesAndRecords() {
+        MetricsRegistry registry = new MetricsRegistry();
+        OperationMetrics metrics = registry.operation("TableFormatter.format");
+        OutputFormatter delegate = cars -> "formatted " + cars.size();
+        TimedOutputFormatter formatter = new TimedOutputFormatter(delegate, metrics,
+                registry.operation("TableFormatter.write"));
+
+        assertEquals("formatted 0", formatter.format(List.of()));
+        assertSame(delegate, formatter.getDelegate());
+        assertEquals(1, metrics.getCount());
+        assertEquals(0, registry.operation("TableFormatter.write").getCount());
+    }
+
+    @Test
+    void testWrite_RecordsSeparatelyFromFormat() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        OperationMetrics format = registry.operation("JsonFormatter.format");
+        OperationMetrics write = registry.operation("JsonFormatter.write");
+        TimedOutputFormatter formatter = new TimedOutputFormatter(cars -> "[]", format, write);
+        StringWriter writer = new StringWriter();
+
+        formatter.write(List.of(), writer);
+
+        assertEquals("[]", writer.toString());
+        assertEquals(1, write.getCount());
+        assertEquals(0, format.getCount());
+    }
+}
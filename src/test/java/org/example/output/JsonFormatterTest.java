@@ -8,7 +8,10 @@ import org.example.model.CarBrand;
 import org.example.output.JsonFormatter;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -74,4 +77,51 @@ class JsonFormatterTest {
 
         assertTrue(ex.getMessage().contains("Failed to generate JSON output"));
     }
+
+    private static List<Car> sampleCars() {
+        return List.of(
+                new Car.Builder()
+                        .type("SUV")
+                        .brand("Škoda")
+                        .model("Kodiaq")
+                        .prices(Map.of("EUR", new BigDecimal("41000.50")))
+                        .carBrand(new CarBrand.Builder()
+                                .brand("Škoda")
+                                .releaseDate(LocalDate.of(2021, 3, 1))
+                                .build())
+                        .build(),
+                new Car.Builder()
+                        .brand("Ford")
+                        .model("F-150")
+                        .prices(Collections.emptyMap())
+                        .build());
+    }
+
+    @Test
+    void testWriteStreamsSameTextAsFormat() throws Exception {
+        for (JsonFormatter jsonFormatter : List.of(formatter, JsonFormatter.compact())) {
+            for (List<Car> cars : List.of(sampleCars(), List.<Car>of())) {
+                StringWriter writer = new StringWriter();
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+                jsonFormatter.write(cars, writer);
+                jsonFormatter.write(cars, bytes);
+
+                assertEquals(jsonFormatter.format(cars), writer.toString());
+                assertEquals(jsonFormatter.format(cars), bytes.toString(StandardCharsets.UTF_8));
+            }
+        }
+        assertFalse(JsonFormatter.compact().format(sampleCars()).contains("\n"));
+    }
+
+    @Test
+    void testWriteLeavesTargetOpen() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        formatter.write(sampleCars(), writer);
+        writer.write("\n");
+
+        assertTrue(writer.toString().endsWith("]\n"));
+        assertThrows(NullPointerException.class, () -> formatter.write(null, writer));
+    }
 }
@@ -8,11 +8,19 @@ import org.example.output.XmlFormatter.CarListWrapper;
 import org.example.exception.OutputFormatException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -119,4 +127,78 @@ class XmlFormatterTest {
         String output = formatter.format(cars);
         assertTrue(output.contains("FailBrand"));
     }
+
+    @Test
+    void testWriteMatchesFormat() throws Exception {
+        XmlFormatter formatter = new XmlFormatter();
+        List<Car> cars = Arrays.asList(
+                new Car.Builder()
+                        .brand("Rolls & Royce <Ltd> \"GB\" 'Ghost'")
+                        .model("Ghost é \uD83D\uDE97 Übersee")
+                        .type("Luxury\r\nLine\rBreak ]]> \t")
+                        .prices(Map.of("USD", new BigDecimal("1234567.891")))
+                        .carBrand(new CarBrand.Builder()
+                                .brand("Rolls & Royce")
+                                .releaseDate(LocalDate.of(2021, 12, 3))
+                                .build())
+                        .build(),
+                null,
+                new Car.Builder()
+                        .prices(Collections.emptyMap())
+                        .build());
+
+        String expected = formatter.format(cars);
+        assertTrue(expected.contains("Luxury&#13;\nLine&#13;Break"));
+
+        StringWriter writer = new StringWriter();
+        formatter.write(cars, writer);
+        assertEquals(expected, writer.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        formatter.write(cars, bytes);
+        assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteWithoutCarsMatchesFormat() throws Exception {
+        XmlFormatter formatter = new XmlFormatter();
+
+        for (List<Car> cars : Arrays.asList(List.<Car>of(), null, Collections.<Car>singletonList(null))) {
+            StringWriter writer = new StringWriter();
+            formatter.write(cars, writer);
+            assertEquals(formatter.format(cars), writer.toString());
+        }
+    }
+
+    @Test
+    void testFormatIsConsistentAcrossVirtualThreads() throws Exception {
+        XmlFormatter formatter = new XmlFormatter();
+        List<Car> cars = List.of(new Car.Builder()
+                .brand("Toyota")
+                .model("Corolla")
+                .prices(Map.of("USD", new BigDecimal("25000")))
+                .build());
+        String expected = formatter.format(cars);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new java.util.ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> formatter.format(cars)));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void testFormatIsRepeatable() {
+        XmlFormatter formatter = new XmlFormatter();
+        List<Car> cars = List.of(new Car.Builder()
+                .brand("Toyota")
+                .prices(Map.of("USD", new BigDecimal("100")))
+                .build());
+
+        assertEquals(formatter.format(cars), formatter.format(cars));
+    }
 }
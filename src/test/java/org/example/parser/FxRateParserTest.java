@@ -0,0 +1,63 @@
+package org.example.parser;
+
+import org.example.model.FxRate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateParserTest {
+
+    private final FxRateParser parser = new FxRateParser();
+    private File tempFile;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (tempFile != null && tempFile.exists()) {
+            Files.delete(tempFile.toPath());
+        }
+    }
+
+    @Test
+    void testValidRateFile() throws Exception {
+        List<FxRate> rates = parser.parse(createTempCsv("""
+                Currency,RateToUSD
+                eur,1.08
+                "JPY,0.0067"
+                """));
+
+        assertEquals(2, rates.size());
+        assertEquals("EUR", rates.get(0).getCurrency());
+        assertEquals(new BigDecimal("1.08"), rates.get(0).getRate());
+        assertEquals("JPY", rates.get(1).getCurrency());
+    }
+
+    @Test
+    void testMalformedAndNonPositiveRatesAreSkipped() throws Exception {
+        List<FxRate> rates = parser.parse(createTempCsv("""
+                Currency,RateToUSD
+                EUR
+                GBP,abc
+                CHF,-1
+                CAD,0.73
+                """));
+
+        assertEquals(List.of(new FxRate.Builder().currency("CAD").rate(new BigDecimal("0.73")).build()), rates);
+    }
+
+    @Test
+    void testMissingFileThrowsParserException() {
+        assertThrows(FxRateParser.ParserException.class, () -> parser.parse(new File("does-not-exist.csv")));
+    }
+
+    private File createTempCsv(String content) throws Exception {
+        tempFile = File.createTempFile("test-rates", ".csv");
+        Files.writeString(tempFile.toPath(), content);
+        return tempFile;
+    }
+}
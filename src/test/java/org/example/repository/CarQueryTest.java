@@ -0,0 +1,70 @@
+package org.example.repository;
+
+import org.example.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class CarQueryTest {
+
+    private final Car rav4 = new Car.Builder()
+            .type("SUV")
+            .brand("Toyota")
+            .model("RAV4")
+            .prices(Map.of("JPY", BigDecimal.valueOf(4500000)))
+            .build();
+
+    @Test
+    void testMatches_AllClausesMustHold() {
+        assertTrue(new CarQuery.Builder().brand("TOYOTA").type("suv").currency("JPY").build().matches(rav4));
+        assertFalse(new CarQuery.Builder().brand("Toyota").currency("USD").build().matches(rav4));
+    }
+
+    @Test
+    void testMatches_AnyValueWithinClause() {
+        assertTrue(new CarQuery.Builder().brand("Ford", "Toyota").build().matches(rav4));
+        assertTrue(new CarQuery.Builder().currency("USD", "JPY").build().matches(rav4));
+    }
+
+    @Test
+    void testMatches_CurrencyIsCaseSensitiveAndNullCarNeverMatches() {
+        assertFalse(new CarQuery.Builder().currency("jpy").build().matches(rav4));
+        assertFalse(new CarQuery.Builder().build().matches(null));
+        assertTrue(new CarQuery.Builder().build().matches(rav4));
+    }
+
+    @Test
+    void testMatches_MissingBrandOrTypeNeverMatches() {
+        Car noBrand = new Car.Builder().type("SUV").model("X").prices(Map.of()).build();
+        Car noType = new Car.Builder().brand("Toyota").model("Y").prices(Map.of()).build();
+        CarRepository repository = mock(CarRepository.class, CALLS_REAL_METHODS);
+        doReturn(List.of(noBrand, noType, rav4)).when(repository).findAll();
+
+        CarQuery brand = new CarQuery.Builder().brand("Toyota").build();
+        CarQuery type = new CarQuery.Builder().type("SUV").build();
+
+        assertFalse(brand.matches(noBrand));
+        assertFalse(type.matches(noType));
+        assertEquals(List.of(noType, rav4), repository.findMatching(brand));
+        assertEquals(List.of(noBrand, rav4), repository.findMatching(type));
+        assertEquals(1, repository.count(new CarQuery.Builder().brand("Toyota").type("SUV").build()));
+    }
+
+    @Test
+    void testBuilder_RejectsEmptyAndNullValues() {
+        assertThrows(IllegalArgumentException.class, () -> new CarQuery.Builder().brand());
+        assertThrows(NullPointerException.class, () -> new CarQuery.Builder().type("SUV", null));
+    }
+
+    @Test
+    void testEquals_UsesNormalizedKeys() {
+        assertEquals(new CarQuery.Builder().brand("Toyota").build(), new CarQuery.Builder().brand("TOYOTA").build());
+    }
+}
@@ -1,8 +1,13 @@
 package org.example.repository;
 
+import org.example.analytics.GroupBy;
+import org.example.analytics.TDigest;
 import org.example.model.Car;
+import org.example.fx.FxRateTable;
 import org.example.model.CarBrand;
+import org.example.model.FxRate;
 import org.example.repository.InMemoryCarRepository;
+import org.example.strategy.FilterDescriptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +53,430 @@ class InMemoryCarRepositoryTest {
         assertTrue(cars.contains(ford));
     }
 
+    @Test
+    void testFindCandidates_UsesBrandIndexCaseInsensitively() {
+        FilterDescriptor descriptor = new FilterDescriptor.Builder().brand("TOYOTA").build();
+
+        List<Car> candidates = repository.findCandidates(descriptor);
+
+        assertEquals(List.of(toyota), candidates);
+    }
+
+    @Test
+    void testFindCandidates_UnknownBrandReturnsEmpty() {
+        FilterDescriptor descriptor = new FilterDescriptor.Builder().brand("Tesla").build();
+
+        assertTrue(repository.findCandidates(descriptor).isEmpty());
+    }
+
+    @Test
+    void testFindCandidates_WithoutBrandFallsBackToAllCars() {
+        FilterDescriptor descriptor = new FilterDescriptor.Builder().build();
+
+        assertEquals(List.of(toyota, ford), repository.findCandidates(descriptor));
+    }
+
+    @Test
+    void testFindCandidates_PreservesRepositoryOrder() {
+        Car secondToyota = new Car.Builder()
+                .type("SUV")
+                .brand("toyota")
+                .model("RAV4")
+                .prices(Map.of("USD", BigDecimal.valueOf(30000)))
+                .build();
+        InMemoryCarRepository repo = new InMemoryCarRepository(List.of(toyota, ford, secondToyota));
+
+        List<Car> candidates = repo.findCandidates(new FilterDescriptor.Builder().brand("Toyota").build());
+
+        assertEquals(List.of(toyota, secondToyota), candidates);
+    }
+
+    @Test
+    void testFindCandidates_PriceRangeUsesPriceColumn() {
+        FilterDescriptor descriptor = new FilterDescriptor.Builder()
+                .priceRange("USD", BigDecimal.valueOf(30000), BigDecimal.valueOf(45000))
+                .build();
+
+        assertEquals(List.of(ford), repository.findCandidates(descriptor));
+    }
+
+    @Test
+    void testFindCandidates_PriceRangeWithBrandAndUnknownCurrency() {
+        FilterDescriptor toyotaInRange = new FilterDescriptor.Builder()
+                .brand("toyota")
+                .priceRange("USD", BigDecimal.ZERO, BigDecimal.valueOf(50000))
+                .build();
+        FilterDescriptor euro = new FilterDescriptor.Builder()
+                .priceRange("EUR", BigDecimal.ZERO, BigDecimal.valueOf(50000))
+                .build();
+
+        assertEquals(List.of(toyota), repository.findCandidates(toyotaInRange));
+        assertTrue(repository.findCandidates(euro).isEmpty());
+    }
+
+    @Test
+    void testFindCandidates_ScalarAndBestKernelsAgreeAcrossGrowthAndDeletes() {
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            cars.add(new Car.Builder()
+                    .type("SEDAN")
+                    .brand(i % 3 == 0 ? "Toyota" : "Ford")
+                    .model("Model " + i)
+                    .prices(i % 7 == 0 ? Map.of("EUR", BigDecimal.ONE) : Map.of("USD", new BigDecimal(i + ".505")))
+                    .build());
+        }
+        InMemoryCarRepository scalar = new InMemoryCarRepository(cars, new ScalarPriceRangeKernel());
+        InMemoryCarRepository best = new InMemoryCarRepository(cars);
+        scalar.delete(cars.get(3));
+        best.delete(cars.get(3));
+        FilterDescriptor descriptor = new FilterDescriptor.Builder()
+                .brand("Toyota")
+                .priceRange("USD", new BigDecimal("10.51"), new BigDecimal("250.50"))
+                .build();
+
+        List<Car> candidates = scalar.findCandidates(descriptor);
+
+        assertEquals(candidates, best.findCandidates(descriptor));
+        assertFalse(candidates.contains(cars.get(3)));
+        assertTrue(candidates.contains(cars.get(12)));
+        assertTrue(candidates.contains(cars.get(249)));
+        assertFalse(candidates.contains(cars.get(252)));
+        assertFalse(candidates.contains(cars.get(21)));
+    }
+
+    @Test
+    void testFindMatching_CombinesBitmapClauses() {
+        Car rav4 = new Car.Builder()
+                .type("suv")
+                .brand("Toyota")
+                .model("RAV4")
+                .prices(Map.of("USD", BigDecimal.valueOf(30000), "JPY", BigDecimal.valueOf(4500000)))
+                .build();
+        Car explorer = new Car.Builder()
+                .type("SUV")
+                .brand("Ford")
+                .model("Explorer")
+                .prices(Map.of("EUR", BigDecimal.valueOf(35000)))
+                .build();
+        InMemoryCarRepository repo = new InMemoryCarRepository(List.of(toyota, ford, rav4, explorer));
+
+        CarQuery toyotaSuvInYen = new CarQuery.Builder().brand("toyota").type("SUV").currency("JPY").build();
+        CarQuery suvInYenOrEuro = new CarQuery.Builder().type("SUV").currency("JPY", "EUR").build();
+        CarQuery unknownType = new CarQuery.Builder().brand("Toyota").type("Coupe").build();
+
+        assertEquals(List.of(rav4), repo.findMatching(toyotaSuvInYen));
+        assertEquals(List.of(rav4, explorer), repo.findMatching(suvInYenOrEuro));
+        assertEquals(2, repo.count(suvInYenOrEuro));
+        assertEquals(0, repo.count(unknownType));
+        assertEquals(4, repo.count(new CarQuery.Builder().build()));
+    }
+
+    @Test
+    void testFindMatching_AgreesWithScanAfterDelete() {
+        CarQuery usdSedans = new CarQuery.Builder().type("SEDAN", "TRUCK").currency("USD").build();
+
+        repository.delete(toyota);
+
+        assertEquals(List.of(ford), repository.findMatching(usdSedans));
+        assertEquals(repository.findAll().stream().filter(usdSedans::matches).toList(),
+                repository.findMatching(usdSedans));
+        assertEquals(0, repository.count(new CarQuery.Builder().type("SEDAN").build()));
+    }
+
+    @Test
+    void testFindPriceDigest_MaintainedOnSaveAndRebuiltOnDelete() {
+        Car corolla = new Car.Builder()
+                .type("SEDAN")
+                .brand("TOYOTA")
+                .model("Corolla")
+                .prices(Map.of("USD", BigDecimal.valueOf(20000)))
+                .build();
+        repository.save(corolla);
+
+        TDigest toyotaUsd = repository.findPriceDigest(GroupBy.BRAND, "toyota", "USD").orElseThrow();
+        assertEquals(2, toyotaUsd.size());
+        assertEquals(25000, toyotaUsd.quantile(1));
+        assertEquals(2, repository.findPriceDigest(GroupBy.TYPE, "sedan", "USD").orElseThrow().size());
+
+        repository.delete(toyota);
+
+        assertEquals(20000, repository.findPriceDigest(GroupBy.BRAND, "Toyota", "USD").orElseThrow().quantile(0.99));
+        repository.delete(corolla);
+        assertTrue(repository.findPriceDigest(GroupBy.BRAND, "Toyota", "USD").isEmpty());
+        assertTrue(repository.findPriceDigest(GroupBy.TYPE, "SEDAN", "USD").isEmpty());
+    }
+
+    @Test
+    void testFindPriceDigest_ReturnsIndependentSnapshot() {
+        TDigest snapshot = repository.findPriceDigest(GroupBy.TYPE, "TRUCK", "USD").orElseThrow();
+
+        repository.save(ford);
+
+        assertEquals(1, snapshot.size());
+        assertEquals(2, repository.findPriceDigest(GroupBy.TYPE, "TRUCK", "USD").orElseThrow().size());
+        assertTrue(repository.findPriceDigest(GroupBy.TYPE, "TRUCK", "EUR").isEmpty());
+    }
+
+    @Test
+    void testSearchByModel_AgreesWithScanningDefault() {
+        List<Car> cars = new java.util.ArrayList<>();
+        String[] models = {"Camry", "Corolla", "Accord", "Camry Hybrid", "Civic", "corolla cross", "F-150"};
+        for (int i = 0; i < 70; i++) {
+            cars.add(new Car.Builder()
+                    .type("SEDAN")
+                    .brand("Brand" + (i % 4))
+                    .model(models[i % models.length] + (i % 3 == 0 ? "" : " " + i))
+                    .prices(Map.of("USD", BigDecimal.valueOf(i)))
+                    .build());
+        }
+        InMemoryCarRepository repo = new InMemoryCarRepository(cars);
+        CarRepository scan = () -> cars;
+
+        for (String query : new String[]{"cor", "CAMRY", "ro", "cross", "1", "4", "zzz", ""}) {
+            assertEquals(scan.searchByModel(query, 15), repo.searchByModel(query, 15), query);
+        }
+        repo.delete(cars.get(1));
+        assertFalse(repo.searchByModel("corolla", 100).contains(cars.get(1)));
+        assertThrows(IllegalArgumentException.class, () -> repo.searchByModel("cor", -1));
+    }
+
+    @Test
+    void testFindCandidates_EveryAccessPathReturnsOrderedSuperset() {
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            cars.add(new Car.Builder()
+                    .type("SEDAN")
+                    .brand(i % 5 == 0 ? "Toyota" : "Ford")
+                    .model("Model " + i)
+                    .prices(i % 4 == 0 ? Map.of("EUR", BigDecimal.valueOf(i)) : Map.of("USD", BigDecimal.valueOf(i * 10L)))
+                    .build());
+        }
+        InMemoryCarRepository repo = new InMemoryCarRepository(cars);
+        FilterDescriptor descriptor = new FilterDescriptor.Builder()
+                .brand("toyota")
+                .priceRange("USD", BigDecimal.valueOf(1000), BigDecimal.valueOf(3000))
+                .build();
+        org.example.strategy.FilterStrategy exact =
+                new org.example.strategy.BrandPriceFilterStrategy("toyota", BigDecimal.valueOf(1000), BigDecimal.valueOf(3000));
+        List<Car> expected = cars.stream().filter(exact::filter).toList();
+
+        for (AccessPath path : AccessPath.values()) {
+            QueryPlan plan = new QueryPlan(descriptor, 500, path, Map.of(path, new QueryPlan.Estimate(0, 0)));
+            List<Car> candidates = repo.findCandidates(plan);
+
+            assertEquals(expected, candidates.stream().filter(exact::filter).toList(), path.name());
+            assertEquals(candidates.stream().sorted(java.util.Comparator.comparingInt(cars::indexOf)).toList(), candidates);
+        }
+    }
+
+    @Test
+    void testStreamCandidates_MatchesFindCandidatesAcrossWindows() {
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            cars.add(new Car.Builder()
+                    .type("SEDAN")
+                    .brand(i % 3 == 0 ? "Toyota" : "Ford")
+                    .model("Model " + i)
+                    .prices(i % 4 == 0 ? Map.of("EUR", BigDecimal.valueOf(i)) : Map.of("USD", BigDecimal.valueOf(i)))
+                    .build());
+        }
+        InMemoryCarRepository repo = new InMemoryCarRepository(cars);
+        List<FilterDescriptor> descriptors = List.of(
+                new FilterDescriptor.Builder().build(),
+                new FilterDescriptor.Builder().brand("toyota").build(),
+                new FilterDescriptor.Builder().brand("Kia").build(),
+                new FilterDescriptor.Builder().priceRange("USD", BigDecimal.valueOf(4000), BigDecimal.valueOf(4100)).build(),
+                new FilterDescriptor.Builder().brand("Toyota").priceRange("USD", null, BigDecimal.valueOf(9000)).build());
+
+        for (FilterDescriptor descriptor : descriptors) {
+            List<Car> expected = repo.findCandidates(descriptor).stream()
+                    .filter(car -> descriptor.getBrand().map(car.getBrand()::equalsIgnoreCase).orElse(true))
+                    .toList();
+            List<Car> streamed = repo.streamCandidates(descriptor)
+                    .filter(car -> descriptor.getBrand().map(car.getBrand()::equalsIgnoreCase).orElse(true))
+                    .toList();
+            assertEquals(expected.size(), streamed.size(), descriptor.toString());
+            assertTrue(streamed.containsAll(expected));
+        }
+    }
+
+    @Test
+    void testStreamCandidates_IsLazyAndWeaklyConsistent() {
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 9000; i++) {
+            cars.add(new Car.Builder().type("SEDAN").brand("Toyota").model("Model " + i).prices(Map.of()).build());
+        }
+        InMemoryCarRepository repo = new InMemoryCarRepository(cars);
+        java.util.Iterator<Car> stream = repo.streamCandidates(new FilterDescriptor.Builder().build()).iterator();
+
+        assertEquals(cars.get(0), stream.next());
+        repo.delete(cars.get(8000));
+        Car added = new Car.Builder().type("SEDAN").brand("Toyota").model("Late").prices(Map.of()).build();
+        repo.save(added);
+        List<Car> rest = new java.util.ArrayList<>();
+        stream.forEachRemaining(rest::add);
+
+        assertEquals(8999, rest.size());
+        assertFalse(rest.contains(cars.get(8000)));
+        assertEquals(added, rest.get(rest.size() - 1));
+    }
+
+    @Test
+    void testDelete_CompactsTombstonesWithoutBreakingOpenStreams() {
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            cars.add(new Car.Builder()
+                    .type(i % 2 == 0 ? "SEDAN" : "SUV")
+                    .brand(i % 3 == 0 ? "Toyota" : "Ford")
+                    .model("Model " + i)
+                    .prices(Map.of("USD", BigDecimal.valueOf(i)))
+                    .build());
+        }
+        InMemoryCarRepository repo = new InMemoryCarRepository(cars);
+        java.util.Iterator<Car> stream = repo.streamCandidates(new FilterDescriptor.Builder().build()).iterator();
+        for (int i = 0; i < 4096; i++) {
+            assertEquals(cars.get(i), stream.next());
+        }
+
+        List<Car> live = new java.util.ArrayList<>(cars);
+        for (Car car : List.copyOf(cars.subList(1000, 4000))) {
+            assertTrue(repo.delete(car));
+            live.remove(car);
+        }
+        for (Car car : List.copyOf(cars.subList(4500, 4600))) {
+            assertTrue(repo.delete(car));
+            live.remove(car);
+        }
+        List<Car> rest = new java.util.ArrayList<>();
+        stream.forEachRemaining(rest::add);
+
+        assertTrue(repo.rowCount() < 5000);
+        assertEquals(live.subList(live.indexOf(cars.get(4096)), live.size()), rest);
+        assertEquals(live, repo.findAll());
+        FilterDescriptor descriptor = new FilterDescriptor.Builder()
+                .brand("TOYOTA")
+                .priceRange("USD", BigDecimal.valueOf(500), BigDecimal.valueOf(4800))
+                .build();
+        assertEquals(live.stream().filter(car -> car.getBrand().equals("Toyota")
+                        && car.getPrices().get("USD").intValue() >= 500
+                        && car.getPrices().get("USD").intValue() <= 4800).toList(),
+                repo.findCandidates(descriptor).stream()
+                        .filter(car -> car.getBrand().equals("Toyota"))
+                        .toList());
+        assertEquals(live.stream().filter(car -> car.getType().equals("SUV")).count(),
+                repo.count(new CarQuery.Builder().type("suv").build()));
+        assertEquals(List.of(cars.get(4999)), repo.searchByModel("Model 4999", 10));
+
+        Car added = new Car.Builder().type("SEDAN").brand("Kia").model("Late").prices(Map.of()).build();
+        repo.save(added);
+        assertEquals(added, repo.findAll().get(live.size()));
+    }
+
+    @Test
+    void testListener_ReceivesEveryChangeWithVersions() {
+        InMemoryCarRepository repo = new InMemoryCarRepository(List.of());
+        List<String> changes = new java.util.ArrayList<>();
+        assertTrue(repo.addListener((added, removed, previousVersion, version) ->
+                changes.add(added.size() + "+" + removed.size() + "-@" + previousVersion + ">" + version)));
+        Car car = new Car.Builder().type("SEDAN").brand("Toyota").model("Camry").prices(Map.of()).build();
+
+        repo.saveAll(List.of(car, car));
+        repo.delete(car);
+        repo.delete(car);
+        repo.delete(car);
+
+        assertEquals(List.of("2+0-@0>1", "0+1-@1>2", "0+1-@2>3"), changes);
+    }
+
+    @Test
+    void testPlan_UsesIndexStatisticsAndHistogram() {
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            cars.add(new Car.Builder()
+                    .type("SEDAN")
+                    .brand(i % 2 == 0 ? "Toyota" : "Ford")
+                    .model("Model " + i)
+                    .prices(Map.of("USD", BigDecimal.valueOf(i)))
+                    .build());
+        }
+        InMemoryCarRepository repo = new InMemoryCarRepository(cars);
+
+        QueryPlan narrowPrice = repo.plan(new FilterDescriptor.Builder()
+                .brand("Toyota")
+                .priceRange("USD", BigDecimal.valueOf(100), BigDecimal.valueOf(119))
+                .build());
+        QueryPlan rareBrand = repo.plan(new FilterDescriptor.Builder().brand("Kia").build());
+
+        assertEquals(AccessPath.PRICE_KERNEL, narrowPrice.getAccessPath());
+        assertEquals(10, narrowPrice.getEstimatedRows(), 3);
+        assertEquals(2000, narrowPrice.getTotalRows());
+        assertEquals(AccessPath.BRAND_INDEX, rareBrand.getAccessPath());
+        assertEquals(0, rareBrand.getEstimatedRows());
+    }
+
+    @Test
+    void testSave_AppendsCarAndBumpsVersion() {
+        long before = repository.getVersion().getAsLong();
+        Car honda = new Car.Builder()
+                .type("SEDAN")
+                .brand("Honda")
+                .model("Civic")
+                .prices(Map.of("USD", BigDecimal.valueOf(22000)))
+                .build();
+
+        repository.save(honda);
+
+        assertEquals(List.of(toyota, ford, honda), repository.findAll());
+        assertEquals(List.of(honda), repository.findCandidates(new FilterDescriptor.Builder().brand("honda").build()));
+        assertTrue(repository.getVersion().getAsLong() > before);
+        assertEquals(new CarSnapshot(List.of(toyota, ford, honda), repository.getVersion().getAsLong()),
+                repository.snapshot().orElseThrow());
+    }
+
+    @Test
+    void testDelete_RemovesCarFromScansAndIndexes() {
+        long before = repository.getVersion().getAsLong();
+
+        assertTrue(repository.delete(toyota));
+
+        assertEquals(List.of(ford), repository.findAll());
+        assertTrue(repository.findCandidates(new FilterDescriptor.Builder().brand("Toyota").build()).isEmpty());
+        assertTrue(repository.getVersion().getAsLong() > before);
+    }
+
+    @Test
+    void testDelete_UnknownCarLeavesVersionUnchanged() {
+        long before = repository.getVersion().getAsLong();
+        Car unknown = new Car.Builder().brand("Kia").model("Rio").prices(Map.of()).build();
+
+        assertFalse(repository.delete(unknown));
+        assertEquals(before, repository.getVersion().getAsLong());
+    }
+
+    @Test
+    void testNormalizedPriceQueries_UseCheapestConvertedPrice() {
+        Car euroCar = new Car.Builder()
+                .type("SUV")
+                .brand("BMW")
+                .model("X1")
+                .prices(Map.of("EUR", BigDecimal.valueOf(20000), "USD", BigDecimal.valueOf(30000)))
+                .build();
+        Car unpriced = new Car.Builder().type("SUV").brand("Kia").model("Soul").prices(Map.of("GBP", BigDecimal.ONE)).build();
+        repository.saveAll(List.of(euroCar, unpriced));
+
+        long before = repository.getVersion().getAsLong();
+        repository.applyFxRates(FxRateTable.of("USD", List.of(
+                new FxRate.Builder().currency("EUR").rate(new BigDecimal("1.10")).build())));
+
+        assertTrue(repository.getVersion().getAsLong() > before);
+        assertEquals(List.of(euroCar, toyota, ford, unpriced), repository.findAllOrderedByNormalizedPrice());
+        assertEquals(List.of(toyota, euroCar),
+                repository.findByNormalizedPriceRange(new BigDecimal("22000"), new BigDecimal("25000")));
+        assertEquals(List.of(toyota, ford, euroCar), repository.findByNormalizedPriceRange(null, null));
+    }
+
+    @Test
+    void testNormalizedPriceQueries_RequireFxRates() {
+        assertThrows(IllegalStateException.class, () -> repository.findAllOrderedByNormalizedPrice());
+    }
 }
@@ -0,0 +1,52 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelSearchIndexTest {
+
+    private ModelSearchIndex index;
+    private BitSet liveRows;
+
+    @BeforeEach
+    void setUp() {
+        index = new ModelSearchIndex();
+        String[] models = {"Camry", "Corolla", "F-150", "camry hybrid", "RAV4", "Corolla Cross", "Accord"};
+        liveRows = new BitSet();
+        for (int row = 0; row < models.length; row++) {
+            index.add(models[row], row);
+            liveRows.set(row);
+        }
+    }
+
+    @Test
+    void testSearch_PrefixMatchesInModelOrderBeforeSubstrings() {
+        assertArrayEquals(new int[]{1, 5, 6}, index.search("COR", 10, liveRows));
+        assertArrayEquals(new int[]{0, 3}, index.search("cam", 10, liveRows));
+    }
+
+    @Test
+    void testSearch_SubstringUsesTrigramsAndVerifies() {
+        assertArrayEquals(new int[]{3}, index.search("hybrid", 10, liveRows));
+        assertArrayEquals(new int[]{5}, index.search("la cr", 10, liveRows));
+        assertArrayEquals(new int[0], index.search("rolla crossx", 10, liveRows));
+    }
+
+    @Test
+    void testSearch_ShortQueryScansModelsAndRespectsLimit() {
+        assertArrayEquals(new int[]{4}, index.search("v4", 10, liveRows));
+        assertEquals(2, index.search("r", 2, liveRows).length);
+        assertArrayEquals(new int[0], index.search("camry", 0, liveRows));
+    }
+
+    @Test
+    void testSearch_SkipsDeletedRows() {
+        liveRows.clear(0);
+
+        assertArrayEquals(new int[]{3}, index.search("camry", 10, liveRows));
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceHistogramTest {
+
+    @Test
+    void testEstimateRows_InterpolatesWithinBuckets() {
+        PriceHistogram histogram = PriceHistogram.of(LongStream.range(0, 10_000).toArray(), 1_000_000);
+
+        assertEquals(100_000, histogram.estimateRows(1_000, 1_999), 2_000);
+        assertEquals(1_000_000, histogram.estimateRows(Long.MIN_VALUE, Long.MAX_VALUE), 1e-6);
+        assertEquals(0, histogram.estimateRows(20_000, 30_000));
+        assertEquals(0, histogram.estimateRows(5, 4));
+    }
+
+    @Test
+    void testEstimateRows_SkewedAndEmptyData() {
+        long[] skewed = new long[1000];
+        for (int i = 0; i < skewed.length; i++) {
+            skewed[i] = i < 900 ? 100 : 100_000 + i;
+        }
+        PriceHistogram histogram = PriceHistogram.of(skewed, 1000);
+
+        assertTrue(histogram.estimateRows(100, 100) > 800);
+        assertTrue(histogram.estimateRows(100_000, 200_000) < 150);
+        assertEquals(0, PriceHistogram.of(new long[0], 0).estimateRows(0, 10));
+    }
+}
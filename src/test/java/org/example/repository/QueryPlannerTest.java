@@ -0,0 +1,68 @@
+package org.example.repository;
+
+import org.example.strategy.FilterDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlannerTest {
+
+    private static final FilterDescriptor BRAND_ONLY = new FilterDescriptor.Builder().brand("Toyota").build();
+    private static final FilterDescriptor BRAND_AND_PRICE = new FilterDescriptor.Builder()
+            .brand("Toyota")
+            .priceRange("USD", BigDecimal.ZERO, BigDecimal.TEN)
+            .build();
+
+    private static QueryPlan plan(FilterDescriptor descriptor, long brandRows, long currencyRows, double priceRows) {
+        return QueryPlanner.plan(descriptor, new QueryPlanner.Statistics(100_000, brandRows, currencyRows, priceRows));
+    }
+
+    @Test
+    void testPlan_NoPredicateScans() {
+        QueryPlan plan = plan(new FilterDescriptor.Builder().build(), 0, 0, 0);
+
+        assertEquals(AccessPath.FULL_SCAN, plan.getAccessPath());
+        assertEquals(100_000, plan.getEstimatedRows());
+    }
+
+    @Test
+    void testPlan_BrandOnlyPrefersIndexUnlessBrandCoversTable() {
+        assertEquals(AccessPath.BRAND_INDEX, plan(BRAND_ONLY, 2_000, 0, 0).getAccessPath());
+        assertEquals(AccessPath.FULL_SCAN, plan(BRAND_ONLY, 100_000, 0, 0).getAccessPath());
+    }
+
+    @Test
+    void testPlan_PicksBetweenKernelAndBitmaps() {
+        assertEquals(AccessPath.PRICE_KERNEL, plan(BRAND_AND_PRICE, 50_000, 90_000, 100).getAccessPath());
+        assertEquals(AccessPath.BITMAP_INTERSECTION, plan(BRAND_AND_PRICE, 50_000, 1_000, 900).getAccessPath());
+        assertEquals(AccessPath.BRAND_INDEX, plan(BRAND_AND_PRICE, 50, 90_000, 80_000).getAccessPath());
+        assertEquals(4, plan(BRAND_AND_PRICE, 50, 90_000, 80_000).getEstimates().size());
+    }
+
+    @Test
+    void testPlaceSort_UsesFreshViewOnlyWhenCheaper() {
+        QueryPlan wide = plan(BRAND_ONLY, 90_000, 0, 0);
+        QueryPlan narrow = plan(BRAND_ONLY, 10, 0, 0);
+
+        assertEquals(SortPlacement.FILTER_SORTED_VIEW, QueryPlanner.placeSort(wide, true));
+        assertEquals(SortPlacement.FILTER_THEN_SORT, QueryPlanner.placeSort(narrow, true));
+        assertEquals(SortPlacement.FILTER_THEN_SORT, QueryPlanner.placeSort(wide, false));
+    }
+
+    @Test
+    void testExplain_ShowsChosenPathEstimatesAndActuals() {
+        String explain = plan(BRAND_AND_PRICE, 50, 90_000, 80_000)
+                .withSort("PRICE", SortPlacement.FILTER_THEN_SORT)
+                .withActual(48, 12)
+                .explain();
+
+        assertTrue(explain.startsWith("Filter brand=Toyota USD [0, 10] over 100000 rows"));
+        assertTrue(explain.contains("sort PRICE: FILTER_THEN_SORT"));
+        assertTrue(explain.contains("-> BRAND_INDEX: est. 50 candidates"));
+        assertTrue(explain.contains("actual 48 candidates, 12 rows"));
+        assertTrue(explain.contains("FULL_SCAN: est. 100000 candidates"));
+        assertFalse(QueryPlan.fullScan(BRAND_ONLY, 3).explain().contains("actual"));
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorPriceRangeKernelTest {
+
+    @Test
+    void testBest_UsesVectorKernelWhenModuleIsEnabled() {
+        assertInstanceOf(VectorPriceRangeKernel.class, PriceRangeKernel.best());
+    }
+
+    @Test
+    void testSelect_MatchesScalarKernelIncludingTail() {
+        Random random = new Random(42);
+        int rowCount = 1003;
+        long[] prices = new long[rowCount + 5];
+        long[] brandIds = new long[rowCount + 5];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = random.nextInt(10_000) - 100;
+            brandIds[i] = random.nextInt(4);
+        }
+
+        for (long brandId : new long[]{PriceRangeKernel.ANY_BRAND, 2}) {
+            long[] expected = new long[(rowCount + 63) >>> 6];
+            long[] actual = new long[expected.length];
+            new ScalarPriceRangeKernel().select(prices, brandIds, rowCount, 500, 5_000, brandId, expected);
+            new VectorPriceRangeKernel().select(prices, brandIds, rowCount, 500, 5_000, brandId, actual);
+
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testSelect_BoundsAreInclusive() {
+        long[] prices = {99, 100, 200, 201};
+        long[] brandIds = new long[4];
+        long[] selection = new long[1];
+
+        new VectorPriceRangeKernel().select(prices, brandIds, 4, 100, 200, PriceRangeKernel.ANY_BRAND, selection);
+
+        assertEquals(0b0110L, selection[0]);
+    }
+}
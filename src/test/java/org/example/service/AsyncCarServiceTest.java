@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncCarServiceTest {
+
+    private CarService carService;
+    private AsyncCarService asyncService;
+    private final Car car = new Car.Builder()
+            .brand("Toyota")
+            .model("Camry")
+            .type("SEDAN")
+            .prices(Map.of("USD", new BigDecimal("25000")))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        carService = mock(CarService.class);
+        asyncService = new AsyncCarService(carService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncService.close();
+    }
+
+    @Test
+    void testFilterRunsOnVirtualThread() throws Exception {
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        when(carService.filterCarsByBrandAndPrice("Toyota", null, null)).thenAnswer(invocation -> {
+            worker.set(Thread.currentThread());
+            return List.of(car);
+        });
+
+        List<Car> result = asyncService.filterCarsByBrandAndPrice("Toyota", null, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(car), result);
+        assertTrue(worker.get().isVirtual());
+    }
+
+    @Test
+    void testSortsUseCpuPoolWhenGiven() throws Exception {
+        ExecutorService cpuPool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "cpu-sort"));
+        try (AsyncCarService service = new AsyncCarService(carService, cpuPool)) {
+            AtomicReference<String> threadName = new AtomicReference<>();
+            when(carService.sortCarsByPrice()).thenAnswer(invocation -> {
+                threadName.set(Thread.currentThread().getName());
+                return List.of(car);
+            });
+
+            assertEquals(List.of(car), service.sortCarsByPrice().get(5, TimeUnit.SECONDS));
+            assertEquals("cpu-sort", threadName.get());
+        } finally {
+            cpuPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancelInterruptsRunningScan() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(carService.searchByModel("cam", 10)).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        });
+
+        CompletableFuture<List<Car>> future = asyncService.searchByModel("cam", 10);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(future.cancel(true));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @Test
+    void testFailurePropagatesThroughFuture() {
+        when(carService.sortCarsByReleaseDate()).thenThrow(new IllegalStateException("boom"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> asyncService.sortCarsByReleaseDate().get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.strategy.BrandPriceFilterStrategy;
+import org.example.strategy.FilterStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchFilterExecutorTest {
+
+    private static List<Car> cars() {
+        String[] brands = {"Toyota", "FORD", "Honda", "Ford"};
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            cars.add(new Car.Builder()
+                    .type(i % 3 == 0 ? "SUV" : "SEDAN")
+                    .brand(brands[i % brands.length])
+                    .model("Model " + i)
+                    .prices(Map.of("USD", BigDecimal.valueOf(i * 100L)))
+                    .build());
+        }
+        cars.add(null);
+        return cars;
+    }
+
+    @Test
+    void testExecute_MatchesIndividualScansSequentialAndParallel() {
+        List<Car> cars = cars();
+        List<FilterStrategy> filters = List.of(
+                new BrandPriceFilterStrategy("ford", BigDecimal.valueOf(10_000), BigDecimal.valueOf(50_000)),
+                new BrandPriceFilterStrategy("Toyota", null, BigDecimal.valueOf(20_000)),
+                new BrandPriceFilterStrategy("Kia", null, null),
+                car -> "SUV".equals(car.getType()),
+                new BrandPriceFilterStrategy("Ford", BigDecimal.valueOf(10_000), BigDecimal.valueOf(50_000)));
+        List<List<Car>> expected = filters.stream()
+                .map(filter -> cars.stream().filter(car -> car != null && filter.filter(car)).toList())
+                .toList();
+
+        BatchFilterExecutor executor = new BatchFilterExecutor(filters);
+
+        assertEquals(expected, executor.execute(cars, 64, false));
+        assertEquals(expected, executor.execute(cars, 64, true));
+        assertEquals(expected, executor.execute(cars, 10_000, false));
+        assertTrue(executor.execute(cars, 64, true).get(2).isEmpty());
+    }
+
+    @Test
+    void testExecute_EmptyInputGivesEmptyResultPerFilter() {
+        BatchFilterExecutor executor = new BatchFilterExecutor(Arrays.asList(car -> true, car -> false));
+
+        assertEquals(List.of(List.of(), List.of()), executor.execute(List.of(), 16, true));
+    }
+
+    @Test
+    void testExecute_InterruptingCallerCancelsParallelPartitions() throws Exception {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            cars.addAll(cars());
+        }
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger tested = new AtomicInteger();
+        FilterStrategy slow = car -> {
+            tested.incrementAndGet();
+            started.countDown();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        };
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<Boolean> interruptKept = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                new BatchFilterExecutor(List.of(slow)).execute(cars, 1000, true);
+            } catch (Throwable e) {
+                failure.set(e);
+                interruptKept.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        caller.start();
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(caller.isAlive());
+        assertInstanceOf(CancellationException.class, failure.get());
+        assertTrue(interruptKept.get());
+        int testedAtCancel = tested.get();
+        Thread.sleep(100);
+        assertTrue(tested.get() < testedAtCancel + Runtime.getRuntime().availableProcessors() * 256);
+        assertTrue(tested.get() < cars.size());
+    }
+}
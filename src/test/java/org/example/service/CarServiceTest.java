@@ -1,12 +1,28 @@
 package org.example.service;
 
+import org.example.analytics.GroupBy;
+import org.example.analytics.PriceStatistics;
+import org.example.analytics.TDigest;
 import org.example.factory.CarFilterFactory;
 import org.example.factory.CarSortFactory;
+import org.example.fx.FxRateTable;
 import org.example.model.Car;
 import org.example.model.CarBrand;
+import org.example.model.FxRate;
+import org.example.repository.AccessPath;
+import org.example.repository.CarQuery;
+import org.example.repository.BrandRepository;
 import org.example.repository.CarRepository;
+import org.example.repository.InMemoryBrandRepository;
+import org.example.repository.InMemoryCarRepository;
+import org.example.repository.QueryPlan;
+import org.example.repository.SortPlacement;
 import org.example.service.CarService;
+import org.example.strategy.BrandPriceFilterStrategy;
+import org.example.strategy.FilterDescriptor;
 import org.example.strategy.FilterStrategy;
+import org.example.strategy.PriceSortStrategy;
+import org.example.strategy.SortSpec;
 import org.example.strategy.SortStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,9 +31,21 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 public class CarServiceTest {
@@ -34,6 +62,7 @@ public class CarServiceTest {
         filterFactory = mock(CarFilterFactory.class);
         sortFactory = mock(CarSortFactory.class);
         carRepository = mock(CarRepository.class);
+        when(carRepository.snapshot()).thenCallRealMethod();
         carService = new CarService(filterFactory, carRepository, sortFactory);
 
         mockCars = List.of(
@@ -64,7 +93,7 @@ public class CarServiceTest {
 
     @Test
     void testFilterCarsByBrandAndPrice() {
-        FilterStrategy strategy = mock(FilterStrategy.class);
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
         when(filterFactory.createBrandPriceFilter("Toyota", BigDecimal.ZERO, BigDecimal.valueOf(30000)))
                 .thenReturn(strategy);
 
@@ -81,7 +110,7 @@ public class CarServiceTest {
 
     @Test
     void testFilterByBrandAndReleaseDate() {
-        FilterStrategy strategy = mock(FilterStrategy.class);
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
         LocalDate start = LocalDate.of(2020, 1, 1);
         LocalDate end = LocalDate.of(2021, 12, 31);
 
@@ -114,6 +143,17 @@ public class CarServiceTest {
         assertEquals("Ford", result.get(0).getBrand());
     }
 
+    @Test
+    void testSortCarsByPriceWithLimit() {
+        SortStrategy strategy = mock(SortStrategy.class);
+        when(sortFactory.createPriceSorter()).thenReturn(strategy);
+        when(strategy.sort(mockCars, 1)).thenReturn(List.of(mockCars.get(1)));
+
+        List<Car> result = carService.sortCarsByPrice(1);
+
+        assertEquals(List.of(mockCars.get(1)), result);
+    }
+
     @Test
     void testSortCarsByReleaseDate() {
         SortStrategy strategy = mock(SortStrategy.class);
@@ -139,9 +179,342 @@ public class CarServiceTest {
     }
 
 
+    @Test
+    void testFilterUsesRepositoryCandidatesWhenStrategyIsDescribed() {
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
+        FilterDescriptor descriptor = new FilterDescriptor.Builder().brand("Ford").build();
+        when(filterFactory.createBrandPriceFilter("Ford", BigDecimal.ZERO, BigDecimal.valueOf(50000)))
+                .thenReturn(strategy);
+        when(strategy.describe()).thenReturn(Optional.of(descriptor));
+        when(strategy.filter(any())).thenReturn(true);
+        when(carRepository.findCandidates(descriptor)).thenReturn(List.of(mockCars.get(1)));
+
+        List<Car> result = carService.filterCarsByBrandAndPrice("Ford", BigDecimal.ZERO, BigDecimal.valueOf(50000));
+
+        assertEquals(List.of(mockCars.get(1)), result);
+        verify(carRepository, never()).findAll();
+    }
+
+    @Test
+    void testSortCarsBySpecificationUsesCompiledSorter() {
+        SortStrategy strategy = mock(SortStrategy.class);
+        when(sortFactory.createSorter(SortSpec.parse("brand asc, price desc"))).thenReturn(strategy);
+        when(strategy.sort(mockCars)).thenReturn(List.of(mockCars.get(1), mockCars.get(0)));
+
+        List<Car> result = carService.sortCars("brand asc, price desc");
+
+        assertEquals("Ford", result.get(0).getBrand());
+    }
+
+    @Test
+    void testSortedViewIsReusedUntilRepositoryVersionChanges() {
+        SortStrategy strategy = mock(SortStrategy.class);
+        when(sortFactory.createPriceSorter()).thenReturn(strategy);
+        when(strategy.sort(mockCars)).thenReturn(List.of(mockCars.get(1), mockCars.get(0)));
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(1));
+
+        carService.sortCarsByPrice();
+        List<Car> cached = carService.sortCarsByPrice();
+
+        assertEquals("Ford", cached.get(0).getBrand());
+        verify(strategy, times(1)).sort(mockCars);
+
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(2));
+        carService.sortCarsByPrice();
+
+        verify(strategy, times(2)).sort(mockCars);
+    }
+
+    @Test
+    void testSortCarsPageCopiesSliceOfSortedView() {
+        SortStrategy strategy = mock(SortStrategy.class);
+        when(sortFactory.createReleaseDateSorter()).thenReturn(strategy);
+        when(strategy.sort(mockCars)).thenReturn(List.of(mockCars.get(1), mockCars.get(0)));
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(7));
+
+        assertEquals(List.of(mockCars.get(0)), carService.sortCarsPage(SortOrder.RELEASE_DATE, 1, 5));
+        assertEquals(List.of(mockCars.get(1)), carService.sortCarsPage(SortOrder.RELEASE_DATE, 0, 1));
+        assertEquals(List.of(), carService.sortCarsPage(SortOrder.RELEASE_DATE, 10, 5));
+        verify(strategy, times(1)).sort(mockCars);
+    }
+
+    @Test
+    void testSortWithLimitUsesFreshSortedView() {
+        SortStrategy strategy = mock(SortStrategy.class);
+        when(sortFactory.createPriceSorter()).thenReturn(strategy);
+        when(strategy.sort(mockCars)).thenReturn(List.of(mockCars.get(1), mockCars.get(0)));
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(3));
+
+        carService.sortCarsByPrice();
+        List<Car> top = carService.sortCarsByPrice(1);
+
+        assertEquals(List.of(mockCars.get(1)), top);
+        verify(strategy, never()).sort(any(), anyInt());
+    }
+
+    @Test
+    void testFindAndCountCarsDelegateToRepositoryBitmaps() {
+        CarQuery query = new CarQuery.Builder().brand("Toyota").type("SUV").build();
+        when(carRepository.findMatching(query)).thenReturn(List.of(mockCars.get(0)));
+        when(carRepository.count(query)).thenReturn(1L);
+
+        assertEquals(List.of(mockCars.get(0)), carService.findCars(query));
+        assertEquals(1L, carService.countCars(query));
+    }
+
+    @Test
+    void testPriceStatisticsAggregatesRepositoryCars() {
+        Map<String, Map<String, PriceStatistics>> byBrand = carService.priceStatistics(GroupBy.BRAND);
+
+        assertEquals(mockCars.stream().map(Car::getBrand).distinct().count(), byBrand.size());
+        assertEquals(1, byBrand.get("Toyota").get("USD").getN());
+    }
+
+    @Test
+    void testPriceQuantileUsesRepositoryDigest() {
+        TDigest digest = new TDigest();
+        for (int price = 1; price <= 100; price++) {
+            digest.add(price);
+        }
+        when(carRepository.findPriceDigest(GroupBy.TYPE, "SUV", "USD")).thenReturn(Optional.of(digest));
+
+        assertEquals(50.5, carService.priceQuantile(GroupBy.TYPE, "SUV", "USD", 0.5).getAsDouble(), 1.0);
+        assertTrue(carService.priceQuantile(GroupBy.TYPE, "SUV", "EUR", 0.5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> carService.priceQuantile(GroupBy.TYPE, "SUV", "USD", 2));
+    }
+
+    @Test
+    void testSearchByModelDelegatesToRepository() {
+        when(carRepository.searchByModel("cam", 5)).thenReturn(List.of(mockCars.get(0)));
+
+        assertEquals(List.of(mockCars.get(0)), carService.searchByModel("cam", 5));
+    }
+
+    @Test
+    void testFilterScansInChunksAndStopsWhenInterrupted() {
+        List<Car> manyCars = new java.util.ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            manyCars.add(mockCars.get(i % 2));
+        }
+        when(carRepository.findAll()).thenReturn(manyCars);
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
+        when(filterFactory.createBrandPriceFilter(any(), any(), any())).thenReturn(strategy);
+        when(strategy.filter(any())).thenAnswer(invocation -> "Ford".equals(((Car) invocation.getArgument(0)).getBrand()));
+
+        assertEquals(5_000, carService.filterCarsByBrandAndPrice("Ford", null, null).size());
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> carService.filterCarsByBrandAndPrice("Ford", null, null));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testFilterResultsAreCachedUntilRepositoryVersionChanges() {
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(1));
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
+        when(filterFactory.createBrandPriceFilter(any(), any(), any())).thenReturn(strategy);
+        when(strategy.filter(any())).thenAnswer(invocation -> "Toyota".equals(((Car) invocation.getArgument(0)).getBrand()));
+
+        List<Car> first = carService.filterCarsByBrandAndPrice("Toyota", new BigDecimal("100"), null);
+        List<Car> second = carService.filterCarsByBrandAndPrice("toyota", new BigDecimal("100.00"), null);
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(2));
+        carService.filterCarsByBrandAndPrice("Toyota", new BigDecimal("100"), null);
+
+        assertEquals(first, second);
+        verify(filterFactory, times(2)).createBrandPriceFilter(any(), any(), any());
+        assertEquals(1, carService.getQueryCacheStats().getHits());
+        assertEquals(2, carService.getQueryCacheStats().getMisses());
+    }
+
+    @Test
+    void testBatchFilterReturnsOneResultPerQueryFromOneScan() {
+        when(filterFactory.createBrandPriceFilter(any(), any(), any())).thenAnswer(invocation ->
+                new BrandPriceFilterStrategy(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+
+        List<List<Car>> results = carService.filterCarsByBrandAndPrice(List.of(
+                new BrandPriceQuery("Toyota", null, new BigDecimal("30000")),
+                new BrandPriceQuery("Ford", new BigDecimal("50000"), null),
+                new BrandPriceQuery("ford", null, null)));
+
+        assertEquals(List.of(List.of(mockCars.get(0)), List.of(), List.of(mockCars.get(1))), results);
+        verify(carRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testExplainReportsPlanWithActualRows() {
+        when(carRepository.plan(any())).thenAnswer(invocation -> QueryPlan.fullScan(invocation.getArgument(0), 2));
+        when(carRepository.findCandidates(any(QueryPlan.class))).thenReturn(mockCars);
+        when(filterFactory.createBrandPriceFilter(any(), any(), any())).thenAnswer(invocation ->
+                new BrandPriceFilterStrategy(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+
+        QueryPlan plan = carService.explainFilterCarsByBrandAndPrice("Toyota", null, null);
+
+        assertEquals(AccessPath.FULL_SCAN, plan.getAccessPath());
+        assertEquals(2, plan.getActualCandidates());
+        assertEquals(1, plan.getActualRows());
+    }
+
+    @Test
+    void testSortedFilterUsesFreshSortedViewWhenCheaper() {
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(1));
+        when(carRepository.plan(any())).thenAnswer(invocation -> QueryPlan.fullScan(invocation.getArgument(0), 2));
+        when(filterFactory.createBrandPriceFilter(any(), any(), any())).thenAnswer(invocation ->
+                new BrandPriceFilterStrategy(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        SortStrategy strategy = mock(SortStrategy.class);
+        when(sortFactory.createPriceSorter()).thenReturn(strategy);
+        when(strategy.sort(any())).thenReturn(List.of(mockCars.get(1), mockCars.get(0)));
+        carService.sortCarsByPrice();
+
+        QueryPlan plan = carService.explainFilterCarsByBrandAndPrice("Ford", null, null, SortOrder.PRICE);
+        List<Car> result = carService.filterCarsByBrandAndPrice("Ford", null, null, SortOrder.PRICE);
+
+        assertEquals(SortPlacement.FILTER_SORTED_VIEW, plan.getSortPlacement());
+        assertEquals(List.of(mockCars.get(1)), result);
+        verify(carRepository, never()).findCandidates(any(QueryPlan.class));
+        verify(strategy, times(1)).sort(any());
+    }
+
+    @Test
+    void testStreamFilterEvaluatesLazilyFromRepositoryStream() {
+        when(carRepository.streamCandidates(any())).thenAnswer(invocation -> mockCars.stream());
+        when(filterFactory.createBrandPriceFilter(any(), any(), any())).thenAnswer(invocation ->
+                new BrandPriceFilterStrategy(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+
+        List<Car> result = carService.streamCarsByBrandAndPrice("Ford", null, null).toList();
+
+        assertEquals(List.of(mockCars.get(1)), result);
+        verify(carRepository, never()).findAll();
+        verify(carRepository, never()).findCandidates(any(FilterDescriptor.class));
+    }
+
+    @Test
+    void testStreamSortedCarsKeepsRollingTopK() {
+        when(carRepository.streamCandidates(any())).thenAnswer(invocation -> mockCars.stream());
+        SortStrategy strategy = mock(SortStrategy.class);
+        when(sortFactory.createReleaseDateSorter()).thenReturn(strategy);
+        when(strategy.sort(any(), eq(1))).thenReturn(List.of(mockCars.get(1)));
+
+        List<Car> result = carService.streamSortedCars(SortOrder.RELEASE_DATE, 1).toList();
+
+        assertEquals(List.of(mockCars.get(1)), result);
+        verify(strategy).sort(mockCars, 1);
+        verify(strategy, never()).sort(any());
+        assertEquals(0, carService.streamSortedCars(SortOrder.RELEASE_DATE, 0).count());
+        assertThrows(IllegalArgumentException.class, () -> carService.streamSortedCars(SortOrder.PRICE, -1));
+    }
+
+    @Test
+    void testConcurrentIdenticalSortsAreCoalesced() throws Exception {
+        when(carRepository.getVersion()).thenReturn(OptionalLong.of(1));
+        SortStrategy strategy = mock(SortStrategy.class);
+        CountDownLatch sortStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sortFactory.createPriceSorter()).thenReturn(strategy);
+        when(strategy.sort(any())).thenAnswer(invocation -> {
+            sortStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(mockCars.get(1), mockCars.get(0));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<Car>> leader = executor.submit(() -> carService.sortCarsByPrice());
+            sortStarted.await(5, TimeUnit.SECONDS);
+            List<Future<List<Car>>> followers = new java.util.ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> carService.sortCarsByPrice()));
+            }
+            while (carService.getCoalescingStats().getCoalesced() < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            List<Car> result = leader.get(5, TimeUnit.SECONDS);
+            for (Future<List<Car>> follower : followers) {
+                assertSame(result, follower.get(5, TimeUnit.SECONDS));
+            }
+            verify(strategy, times(1)).sort(any());
+            assertEquals(1, carService.getCoalescingStats().getExecutions());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSortedViewsAbsorbRepositoryChangesWithoutResorting() {
+        BrandRepository brands = new InMemoryBrandRepository(List.of(
+                new CarBrand.Builder().brand("Toyota").releaseDate(LocalDate.of(2021, 5, 10)).build()));
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            cars.add(new Car.Builder().type(i % 2 == 0 ? "SUV" : "SEDAN").brand(i % 3 == 0 ? "Toyota" : "Ford")
+                    .model("Model " + i).prices(Map.of("USD", BigDecimal.valueOf(i % 7 * 1000))).build());
+        }
+        InMemoryCarRepository repository = new InMemoryCarRepository(cars);
+        PriceSortStrategy sorter = spy(new PriceSortStrategy(brands));
+        when(sortFactory.createPriceSorter()).thenReturn(sorter);
+        CarService service = new CarService(filterFactory, repository, sortFactory);
+        service.sortCarsByPrice();
+
+        Car added = new Car.Builder().type("SUV").brand("Toyota").model("New")
+                .prices(Map.of("USD", BigDecimal.valueOf(3000))).build();
+        repository.save(added);
+        repository.delete(cars.get(10));
+        List<Car> result = service.sortCarsByPrice();
+
+        assertEquals(new PriceSortStrategy(brands).sort(repository.findAll()), result);
+        verify(sorter, never()).sort(any());
+        assertEquals(result, service.sortCarsPage(SortOrder.PRICE, 0, 100));
+    }
+
+    @Test
+    void testSortedViewsStayConsistentUnderConcurrentWrites() throws Exception {
+        BrandRepository brands = new InMemoryBrandRepository(List.of(
+                new CarBrand.Builder().brand("Toyota").releaseDate(LocalDate.of(2021, 5, 10)).build()));
+        List<Car> cars = new java.util.ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            cars.add(new Car.Builder().type("SUV").brand(i % 3 == 0 ? "Toyota" : "Ford")
+                    .model("Model " + i).prices(Map.of("USD", BigDecimal.valueOf(i % 97 * 100))).build());
+        }
+        InMemoryCarRepository repository = new InMemoryCarRepository(cars);
+        when(sortFactory.createPriceSorter()).thenReturn(new PriceSortStrategy(brands));
+        CarService service = new CarService(filterFactory, repository, sortFactory);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new java.util.ArrayList<>();
+            for (int writer = 0; writer < 2; writer++) {
+                int offset = writer;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 300; i++) {
+                        Car car = cars.get((i * 2 + offset) % cars.size());
+                        repository.delete(car);
+                        repository.save(car);
+                    }
+                }));
+            }
+            for (int reader = 0; reader < 2; reader++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 300; i++) {
+                        // Each writer has at most one car deleted but not yet saved again.
+                        assertTrue(service.sortCarsByPrice().size() >= cars.size() - 2);
+                        service.sortCarsPage(SortOrder.PRICE, 0, 10);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(new PriceSortStrategy(brands).sort(repository.findAll()), service.sortCarsByPrice());
+    }
+
     @Test
     void testFilterCarsByBrandAndPrice_NoMatch() {
-        FilterStrategy strategy = mock(FilterStrategy.class);
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
 
         when(filterFactory.createBrandPriceFilter("BMW", BigDecimal.ZERO, BigDecimal.valueOf(20000)))
                 .thenReturn(strategy);
@@ -154,7 +527,7 @@ public class CarServiceTest {
 
     @Test
     void testFilterByBrandAndReleaseDate_NoMatch() {
-        FilterStrategy strategy = mock(FilterStrategy.class);
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
         LocalDate start = LocalDate.of(2010, 1, 1);
         LocalDate end = LocalDate.of(2011, 1, 1);
 
@@ -199,7 +572,7 @@ public class CarServiceTest {
 
         when(carRepository.findAll()).thenReturn(List.of(carWithoutBrand));
 
-        FilterStrategy strategy = mock(FilterStrategy.class);
+        FilterStrategy strategy = mock(FilterStrategy.class, CALLS_REAL_METHODS);
         when(filterFactory.createBrandDateFilter(any(), any(), any())).thenReturn(strategy);
 
         // Should not crash even though carBrand is null
@@ -209,4 +582,28 @@ public class CarServiceTest {
         assertEquals(1, result.size());
     }
 
+
+    @Test
+    public void testNormalizedPriceQueries_ScanAnyRepositoryWithFxRates() {
+        Car euroCar = new Car.Builder()
+                .brand("BMW")
+                .model("X1")
+                .type("SUV")
+                .prices(Map.of("EUR", new BigDecimal("20000")))
+                .build();
+        Car unpriced = new Car.Builder().brand("Kia").model("Soul").type("SUV").prices(Map.of()).build();
+        List<Car> cars = List.of(mockCars.get(1), unpriced, euroCar, mockCars.get(0));
+        when(carRepository.findAll()).thenReturn(cars);
+        when(carRepository.findAllOrderedByNormalizedPrice()).thenCallRealMethod();
+        when(carRepository.findByNormalizedPriceRange(any(), any())).thenCallRealMethod();
+
+        assertThrows(IllegalStateException.class, () -> carService.sortCarsByCheapestPrice());
+
+        when(carRepository.getFxRates()).thenReturn(Optional.of(FxRateTable.of("USD", List.of(
+                new FxRate.Builder().currency("EUR").rate(new BigDecimal("1.10")).build()))));
+
+        assertEquals(List.of(euroCar, mockCars.get(0), mockCars.get(1), unpriced), carService.sortCarsByCheapestPrice());
+        assertEquals(List.of(euroCar, mockCars.get(0)),
+                carService.filterCarsByNormalizedPrice(new BigDecimal("22000"), new BigDecimal("25000")));
+    }
 }
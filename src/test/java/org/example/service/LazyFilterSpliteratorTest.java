@@ -0,0 +1,77 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.strategy.FilterStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyFilterSpliteratorTest {
+
+    private static final FilterStrategy EVEN_MODELS = car -> Integer.parseInt(car.getModel()) % 2 == 0;
+
+    private static List<Car> cars(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Car.Builder().brand("Toyota").model(String.valueOf(i)).prices(Map.of()).build())
+                .toList();
+    }
+
+    private static Iterator<Car> counting(List<Car> cars, AtomicInteger pulled) {
+        Iterator<Car> source = cars.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Car next() {
+                pulled.incrementAndGet();
+                return source.next();
+            }
+        };
+    }
+
+    @Test
+    void testStream_YieldsMatchesInOrder() {
+        List<Car> cars = cars(10_000);
+
+        List<Car> result = StreamSupport.stream(new LazyFilterSpliterator(cars.iterator(), EVEN_MODELS, 4096), false)
+                .toList();
+
+        assertEquals(cars.stream().filter(EVEN_MODELS::filter).toList(), result);
+    }
+
+    @Test
+    void testStream_StopsPullingWhenConsumerStops() {
+        AtomicInteger pulled = new AtomicInteger();
+
+        List<Car> firstThree = StreamSupport.stream(
+                        new LazyFilterSpliterator(counting(cars(100_000), pulled), EVEN_MODELS, 4096), false)
+                .limit(3)
+                .toList();
+
+        assertEquals(List.of("0", "2", "4"), firstThree.stream().map(Car::getModel).toList());
+        assertEquals(LazyFilterSpliterator.FIRST_BATCH_SIZE, pulled.get());
+    }
+
+    @Test
+    void testStream_BatchesGrowToCap() {
+        AtomicInteger pulled = new AtomicInteger();
+        FilterStrategy none = car -> false;
+
+        long matches = StreamSupport.stream(new LazyFilterSpliterator(counting(cars(1000), pulled), none, 128), false)
+                .count();
+
+        assertEquals(0, matches);
+        assertEquals(1000, pulled.get());
+        assertThrows(IllegalArgumentException.class, () -> new LazyFilterSpliterator(List.<Car>of().iterator(), none, 1));
+    }
+}
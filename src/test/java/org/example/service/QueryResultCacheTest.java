@@ -0,0 +1,85 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultCacheTest {
+
+    private final Car car = new Car.Builder().brand("Toyota").model("Camry").prices(java.util.Map.of()).build();
+
+    private Supplier<List<Car>> counting(AtomicInteger loads) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(car);
+        };
+    }
+
+    @Test
+    void testGet_HitsForNormalizedKeys() {
+        QueryResultCache cache = new QueryResultCache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(QueryKey.brandPrice("Toyota", new BigDecimal("20000"), null), 1, counting(loads));
+        List<Car> cached = cache.get(QueryKey.brandPrice("TOYOTA", new BigDecimal("20000.00"), null), 1, counting(loads));
+
+        assertEquals(List.of(car), cached);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(0.5, cache.getStats().getHitRate());
+    }
+
+    @Test
+    void testGet_NewVersionInvalidatesEverything() {
+        QueryResultCache cache = new QueryResultCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        QueryKey key = QueryKey.brandDate("Ford", LocalDate.of(2020, 1, 1), LocalDate.of(2022, 1, 1));
+
+        cache.get(key, 1, counting(loads));
+        cache.get(key, 2, counting(loads));
+        cache.get(key, 2, counting(loads));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void testGet_StaleCallerDoesNotPopulateNewerCache() {
+        QueryResultCache cache = new QueryResultCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        QueryKey key = QueryKey.brandPrice("Ford", null, null);
+
+        cache.get(key, 5, counting(loads));
+        cache.get(QueryKey.brandPrice("Kia", null, null), 4, counting(loads));
+
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsed() {
+        QueryResultCache cache = new QueryResultCache(2);
+        AtomicInteger loads = new AtomicInteger();
+        QueryKey a = QueryKey.brandPrice("A", null, null);
+        QueryKey b = QueryKey.brandPrice("B", null, null);
+        QueryKey c = QueryKey.brandPrice("C", null, null);
+
+        cache.get(a, 1, counting(loads));
+        cache.get(b, 1, counting(loads));
+        cache.get(a, 1, counting(loads));
+        cache.get(c, 1, counting(loads));
+        cache.get(a, 1, counting(loads));
+        cache.get(b, 1, counting(loads));
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.getStats().getEvictions());
+        assertThrows(IllegalArgumentException.class, () -> new QueryResultCache(0));
+    }
+}
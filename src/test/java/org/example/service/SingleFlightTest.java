@@ -0,0 +1,118 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final QueryKey KEY = QueryKey.sort(SortOrder.PRICE);
+    private static final List<Car> CARS = List.of(new Car.Builder().brand("Toyota").model("Camry").prices(Map.of()).build());
+
+    private static void awaitCoalesced(SingleFlight flight, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getStats().getCoalesced() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Callers did not join the flight");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneComputation() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Car>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flight.execute(KEY, 1, () -> {
+                computations.incrementAndGet();
+                leaderStarted.countDown();
+                awaitCoalesced(flight, 7);
+                return new ArrayList<>(CARS);
+            })));
+            leaderStarted.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> flight.execute(KEY, 1, () -> {
+                    computations.incrementAndGet();
+                    return CARS;
+                })));
+            }
+
+            List<Car> first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<List<Car>> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+            assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+            CoalescingStats stats = flight.getStats();
+            assertEquals(1, stats.getExecutions());
+            assertEquals(7, stats.getCoalesced());
+            assertEquals(0, stats.getInFlight());
+            assertEquals(0.875, stats.getCoalescedRate(), 1e-9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_DifferentVersionsDoNotShareAndFinishedFlightsAreNotReused() {
+        SingleFlight flight = new SingleFlight();
+        AtomicInteger computations = new AtomicInteger();
+
+        flight.execute(KEY, 1, () -> {
+            computations.incrementAndGet();
+            return flight.execute(KEY, 2, () -> {
+                computations.incrementAndGet();
+                return CARS;
+            });
+        });
+        flight.execute(KEY, 1, () -> {
+            computations.incrementAndGet();
+            return CARS;
+        });
+
+        assertEquals(3, computations.get());
+        assertEquals(0, flight.getStats().getCoalesced());
+    }
+
+    @Test
+    void testExecute_FailureReachesFollowersAndCancelledLeaderIsRetried() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Car>> leader = executor.submit(() -> flight.execute(KEY, 1, () -> {
+                leaderStarted.countDown();
+                awaitCoalesced(flight, 1);
+                throw new CancellationException("Car scan was interrupted");
+            }));
+            leaderStarted.await();
+            Future<List<Car>> follower = executor.submit(() -> flight.execute(KEY, 1, () -> CARS));
+
+            assertEquals(CARS, follower.get(5, TimeUnit.SECONDS));
+            Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, leaderFailure.getCause());
+            assertEquals(2, flight.getStats().getExecutions());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThrows(IllegalStateException.class, () -> flight.execute(KEY, 3, () -> {
+            throw new IllegalStateException("boom");
+        }));
+    }
+}
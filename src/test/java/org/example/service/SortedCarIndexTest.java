@@ -0,0 +1,46 @@
+package org.example.service;
+
+import org.example.model.Car;
+import org.example.repository.InMemoryBrandRepository;
+import org.example.strategy.PriceSortStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedCarIndexTest {
+
+    private static Car car(String model, long usd) {
+        return new Car.Builder().type("SEDAN").brand("Kia").model(model)
+                .prices(Map.of("USD", BigDecimal.valueOf(usd))).build();
+    }
+
+    @Test
+    void testAddAndRemove_KeepSortOrderWithTiesInRowOrder() {
+        PriceSortStrategy strategy = new PriceSortStrategy(new InMemoryBrandRepository(List.of()));
+        SortedCarIndex index = new SortedCarIndex(strategy);
+        Car a = car("a", 100);
+        Car b = car("b", 300);
+        Car c = car("c", 100);
+        Car d = car("d", 200);
+        List<Car> rows = new ArrayList<>(List.of(a, b, c));
+
+        index.addAll(new ArrayList<>(rows));
+        index.addAll(List.of(d, a));
+        rows.add(d);
+        rows.add(a);
+        assertEquals(strategy.sort(rows), index.toList());
+
+        index.remove(a);
+        rows.remove(0);
+        assertEquals(strategy.sort(rows), index.toList());
+        assertEquals(List.of(b, d, c, a), index.toList());
+
+        index.remove(car("c", 100));
+        assertEquals(4, index.size());
+    }
+}
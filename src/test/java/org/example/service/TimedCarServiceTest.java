@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.example.factory.CarFilterFactory;
+import org.example.factory.CarSortFactory;
+import org.example.metrics.MetricsRegistry;
+import org.example.metrics.OperationMetrics;
+import org.example.model.Car;
+import org.example.repository.CarRepository;
+import org.example.strategy.SortStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimedCarServiceTest {
+
+    private CarSortFactory sortFactory;
+    private MetricsRegistry metrics;
+    private TimedCarService carService;
+
+    @BeforeEach
+    void setUp() {
+        CarRepository carRepository = mock(CarRepository.class);
+        sortFactory = mock(CarSortFactory.class);
+        metrics = new MetricsRegistry();
+        carService = new TimedCarService(mock(CarFilterFactory.class), carRepository, sortFactory, metrics);
+        when(carRepository.findAll()).thenReturn(List.of(
+                new Car.Builder().brand("Toyota").model("Camry").prices(Map.of()).build()));
+    }
+
+    @Test
+    void testEveryPublicQueryIsTimed() throws Exception {
+        Set<String> untimed = Set.of("getQueryCacheStats", "getCoalescingStats");
+        for (Method method : CarService.class.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())) {
+                boolean overridden = Set.of(TimedCarService.class.getDeclaredMethods()).stream()
+                        .anyMatch(override -> override.getName().equals(method.getName())
+                                && List.of(override.getParameterTypes()).equals(List.of(method.getParameterTypes())));
+                assertEquals(!untimed.contains(method.getName()), overridden, method.toString());
+            }
+        }
+    }
+
+    @Test
+    void testCacheStatisticsGettersAreNotTimed() {
+        carService.getQueryCacheStats();
+        carService.getCoalescingStats();
+
+        assertTrue(metrics.getOperations().isEmpty());
+    }
+
+    @Test
+    void testCallsAndFailuresAreRecordedPerOperation() {
+        SortStrategy sorter = mock(SortStrategy.class);
+        when(sortFactory.createPriceSorter()).thenReturn(sorter);
+        when(sorter.sort(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sortFactory.createReleaseDateSorter()).thenThrow(new IllegalStateException("boom"));
+
+        carService.sortCarsByPrice();
+        carService.sortCarsByPrice();
+        assertThrows(IllegalStateException.class, () -> carService.sortCarsByReleaseDate());
+
+        OperationMetrics price = metrics.getOperations().get("CarService.sortCarsByPrice");
+        OperationMetrics date = metrics.getOperations().get("CarService.sortCarsByReleaseDate");
+        assertEquals(2, price.getCount());
+        assertEquals(0, price.getErrorCount());
+        assertEquals(1, date.getCount());
+        assertEquals(1, date.getErrorCount());
+        assertTrue(price.getMaxMillis() >= price.getP50Millis());
+    }
+}
@@ -9,6 +9,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -119,4 +121,51 @@ class BrandDateFilterStrategyTest {
 
         assertEquals("Start date cannot be after end date", exception.getMessage());
     }
+
+    @Test
+    void testDescribe_ExposesBrandAndDateRange() {
+        FilterStrategy strategy = new BrandDateFilterStrategy("Toyota", START, END, brandRepository);
+
+        FilterDescriptor descriptor = strategy.describe().orElseThrow();
+
+        assertEquals("Toyota", descriptor.getBrand().orElseThrow());
+        assertEquals(START, descriptor.getStartDate().orElseThrow());
+        assertEquals(END, descriptor.getEndDate().orElseThrow());
+        assertFalse(descriptor.hasPriceRange());
+    }
+
+    @Test
+    void testFilterAll_LooksUpEachBrandOncePerBatch() {
+        CarBrand carBrand = new CarBrand.Builder()
+                .brand("Toyota")
+                .releaseDate(LocalDate.of(2021, 6, 15))
+                .build();
+        when(brandRepository.findByBrand("Toyota")).thenReturn(Optional.of(carBrand));
+        Car toyota = new Car.Builder().brand("Toyota").prices(Collections.emptyMap()).build();
+        Car ford = new Car.Builder().brand("Ford").prices(Collections.emptyMap()).build();
+
+        FilterStrategy strategy = new BrandDateFilterStrategy("Toyota", START, END, brandRepository);
+        BitSet selection = strategy.filterAll(Arrays.asList(toyota, ford, null, toyota));
+
+        assertEquals(BitSet.valueOf(new long[]{0b1001}), selection);
+        verify(brandRepository, times(1)).findByBrand("Toyota");
+    }
+
+    @Test
+    void testNewScan_LooksUpEachBrandOncePerScan() {
+        CarBrand carBrand = new CarBrand.Builder()
+                .brand("Toyota")
+                .releaseDate(LocalDate.of(2021, 6, 15))
+                .build();
+        when(brandRepository.findByBrand("Toyota")).thenReturn(Optional.of(carBrand));
+        Car toyota = new Car.Builder().brand("Toyota").prices(Collections.emptyMap()).build();
+        Car ford = new Car.Builder().brand("Ford").prices(Collections.emptyMap()).build();
+
+        FilterStrategy.Scan scan = new BrandDateFilterStrategy("Toyota", START, END, brandRepository).newScan();
+
+        assertEquals(BitSet.valueOf(new long[]{0b01}), scan.filterAll(Arrays.asList(toyota, ford)));
+        assertEquals(BitSet.valueOf(new long[]{0b10}), scan.filterAll(Arrays.asList(ford, toyota)));
+        verify(brandRepository, times(1)).findByBrand("Toyota");
+        verify(brandRepository, never()).findByBrand("Ford");
+    }
 }
@@ -6,6 +6,8 @@ import org.example.strategy.FilterStrategy;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Map;
 
@@ -114,4 +116,30 @@ class BrandPriceFilterStrategyTest {
         FilterStrategy strategy = new BrandPriceFilterStrategy("toyota", new BigDecimal("20000"), new BigDecimal("30000"));
         assertTrue(strategy.filter(car));
     }
+
+    @Test
+    void testDescribe_ExposesBrandCurrencyAndPriceRange() {
+        FilterStrategy strategy = new BrandPriceFilterStrategy("Toyota", new BigDecimal("20000"), new BigDecimal("30000"));
+
+        FilterDescriptor descriptor = strategy.describe().orElseThrow();
+
+        assertEquals("Toyota", descriptor.getBrand().orElseThrow());
+        assertEquals("USD", descriptor.getCurrency().orElseThrow());
+        assertEquals(new BigDecimal("20000"), descriptor.getMinPrice().orElseThrow());
+        assertEquals(new BigDecimal("30000"), descriptor.getMaxPrice().orElseThrow());
+        assertTrue(descriptor.getStartDate().isEmpty());
+    }
+
+    @Test
+    void testFilterAll_MatchesPerCarFilter() {
+        FilterStrategy strategy = new BrandPriceFilterStrategy("Toyota", new BigDecimal("20000"), new BigDecimal("30000"));
+        Car cheap = new Car.Builder().brand("toyota").prices(Map.of("USD", new BigDecimal("25000"))).build();
+        Car expensive = new Car.Builder().brand("Toyota").prices(Map.of("USD", new BigDecimal("35000"))).build();
+        Car otherBrand = new Car.Builder().brand("Ford").prices(Map.of("USD", new BigDecimal("25000"))).build();
+        Car noBrand = new Car.Builder().prices(Map.of("USD", new BigDecimal("25000"))).build();
+
+        BitSet selection = strategy.filterAll(Arrays.asList(cheap, expensive, null, otherBrand, noBrand, cheap));
+
+        assertEquals(BitSet.valueOf(new long[]{0b100001}), selection);
+    }
 }
@@ -0,0 +1,105 @@
+package org.example.strategy;
+
+import org.example.model.Car;
+import org.example.model.CarBrand;
+import org.example.repository.BrandRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CompiledSortStrategyTest {
+
+    private BrandRepository brandRepository;
+
+    @BeforeEach
+    void setUp() {
+        brandRepository = mock(BrandRepository.class);
+        when(brandRepository.findAllByBrandIn(anyCollection())).thenReturn(List.of(
+                new CarBrand.Builder().brand("Toyota").releaseDate(LocalDate.of(2022, 1, 1)).build(),
+                new CarBrand.Builder().brand("Ford").releaseDate(LocalDate.of(2020, 6, 1)).build()
+        ));
+    }
+
+    @Test
+    void testSort_BrandAscThenPriceDesc() {
+        Car corolla = car("Toyota", "Corolla", Map.of("EUR", new BigDecimal("18000")));
+        Car camry = car("Toyota", "Camry", Map.of("EUR", new BigDecimal("24000")));
+        Car focus = car("Ford", "Focus", Map.of("EUR", new BigDecimal("15000")));
+        Car noPrice = car("Ford", "Ka", Map.of());
+
+        SortStrategy strategy = new CompiledSortStrategy(SortSpec.parse("brand asc, price:EUR desc"), brandRepository);
+        List<Car> sorted = strategy.sort(List.of(corolla, noPrice, camry, focus));
+
+        assertEquals(List.of("Focus", "Ka", "Camry", "Corolla"), sorted.stream().map(Car::getModel).toList());
+    }
+
+    @Test
+    void testSort_EnrichesAndOrdersByReleaseDate() {
+        Car toyota = car("Toyota", "Corolla", Map.of());
+        Car ford = car("Ford", "Focus", Map.of());
+        Car unknown = car("Lada", "Niva", Map.of());
+
+        SortStrategy strategy = new CompiledSortStrategy(SortSpec.parse("releaseDate desc"), brandRepository);
+        List<Car> sorted = strategy.sort(List.of(unknown, ford, toyota));
+
+        assertEquals(List.of("Toyota", "Ford", "Lada"), sorted.stream().map(Car::getBrand).toList());
+        assertEquals(LocalDate.of(2022, 1, 1), sorted.get(0).getCarBrand().getReleaseDate());
+    }
+
+    @Test
+    void testSort_MatchesComparatorChainForPackedAndWideSpecs() {
+        Random random = new Random(11);
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            cars.add(car(random.nextBoolean() ? "Toyota" : "Ford",
+                    "M" + random.nextInt(4000),
+                    Map.of("USD", BigDecimal.valueOf(random.nextInt(4000)),
+                            "EUR", BigDecimal.valueOf(random.nextInt(4000)),
+                            "GBP", BigDecimal.valueOf(random.nextInt(4000)),
+                            "JPY", BigDecimal.valueOf(random.nextInt(4000)))));
+        }
+        Comparator<Car> byPrice = Comparator.comparing(car -> car.getPrices().get("EUR"));
+
+        // 1 + 12 bits: packed into one long.
+        assertSortedLike(cars, "brand asc, price:EUR desc",
+                Comparator.comparing(Car::getBrand).thenComparing(byPrice.reversed()));
+        // 5 x 12 bits + brand: wider than 63 bits, sorted one key at a time.
+        assertSortedLike(cars, "price:USD asc, price:EUR desc, price:GBP asc, price:JPY desc, model asc, brand asc",
+                Comparator.<Car, BigDecimal>comparing(car -> car.getPrices().get("USD"))
+                        .thenComparing(byPrice.reversed())
+                        .thenComparing(car -> car.getPrices().get("GBP"))
+                        .thenComparing(Comparator.<Car, BigDecimal>comparing(car -> car.getPrices().get("JPY")).reversed())
+                        .thenComparing(Car::getModel)
+                        .thenComparing(Car::getBrand));
+    }
+
+    @Test
+    void testSort_EmptyAndNullInput() {
+        SortStrategy strategy = new CompiledSortStrategy(SortSpec.parse("brand"), brandRepository);
+
+        assertTrue(strategy.sort(null).isEmpty());
+        assertTrue(strategy.sort(List.of()).isEmpty());
+    }
+
+    private void assertSortedLike(List<Car> cars, String spec, Comparator<Car> expectedOrder) {
+        List<String> expected = cars.stream().sorted(expectedOrder).map(Car::getModel).toList();
+        List<Car> actual = new CompiledSortStrategy(SortSpec.parse(spec), brandRepository).sort(cars);
+
+        assertEquals(expected, actual.stream().map(Car::getModel).toList(), spec);
+    }
+
+    private static Car car(String brand, String model, Map<String, BigDecimal> prices) {
+        return new Car.Builder()
+                .type("SEDAN")
+                .brand(brand)
+                .model(model)
+                .prices(prices)
+                .build();
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeySorterTest {
+
+    private final KeySorter sorter = new KeySorter();
+
+    @Test
+    void testSortedOrder_MatchesStableComparatorSort() {
+        Random random = new Random(42);
+        for (int size : new int[]{0, 1, 5, 31, 32, 1000, 10_000}) {
+            long[] keys = random.longs(size, -50, 50).toArray();
+            int[] expected = IntStream.range(0, size).boxed()
+                    .sorted(Comparator.comparingLong(i -> keys[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            assertArrayEquals(expected, sorter.sortedOrder(keys), "size " + size);
+        }
+    }
+
+    @Test
+    void testParallelSortedOrder_IsStableAndMatchesSequential() {
+        long[] keys = new Random(7).longs(50_000, 0, 100).toArray();
+
+        try (KeySorter parallel = new KeySorter(1, 4)) {
+            assertTrue(parallel.isParallel());
+            assertArrayEquals(sorter.sortedOrder(keys), parallel.sortedOrder(keys));
+        }
+    }
+
+    @Test
+    void testSortedOrder_InterruptedCallerIsCancelled() {
+        long[] keys = new Random(3).longs(10_000).toArray();
+
+        try (KeySorter parallel = new KeySorter(1, 2)) {
+            for (KeySorter candidate : List.of(sorter, parallel)) {
+                Thread.currentThread().interrupt();
+                try {
+                    assertThrows(CancellationException.class, () -> candidate.sortedOrder(keys));
+                    assertThrows(CancellationException.class, () -> TopKSelector.select(keys, 10));
+                    assertTrue(Thread.currentThread().isInterrupted());
+                } finally {
+                    Thread.interrupted();
+                }
+            }
+            assertArrayEquals(sorter.sortedOrder(keys), parallel.sortedOrder(keys));
+        }
+    }
+
+    @Test
+    void testParallelSort_InterruptedCallerLeavesThePoolQuiet() throws Exception {
+        long[] keys = new Random(5).longs(200_000).toArray();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger sorted = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        try (KeySorter parallel = new KeySorter(1, 1)) {
+            // Occupy the only worker, so the remaining group sorts are still queued when the caller gives up.
+            List<Runnable> groups = List.of(
+                    () -> {
+                        running.countDown();
+                        awaitUninterruptibly(release);
+                    },
+                    () -> sorted.addAndGet(parallel.sortedOrder(keys).length),
+                    () -> sorted.addAndGet(parallel.sortedOrder(keys).length));
+            Thread caller = new Thread(() -> {
+                try {
+                    parallel.runAll(groups, keys.length);
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            caller.start();
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            caller.interrupt();
+            caller.join(5_000);
+            release.countDown();
+
+            assertInstanceOf(CancellationException.class, failure.get());
+            assertTrue(parallel.awaitQuiescence(5, TimeUnit.SECONDS));
+            assertEquals(0, sorted.get());
+
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(CancellationException.class, () -> parallel.sortedOrder(keys));
+            } finally {
+                Thread.interrupted();
+            }
+            assertTrue(parallel.awaitQuiescence(5, TimeUnit.SECONDS));
+            assertArrayEquals(sorter.sortedOrder(keys), parallel.sortedOrder(keys));
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // The worker keeps blocking until the test releases it.
+            }
+        }
+    }
+
+    @Test
+    void testParallelConstructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new KeySorter(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new KeySorter(1000, 0));
+    }
+
+    @Test
+    void testSortedOrder_HandlesFullLongRange() {
+        long[] keys = {Long.MAX_VALUE, 0, Long.MIN_VALUE, -1, 1, Long.MIN_VALUE + 1};
+        long[] bigKeys = new long[64];
+        for (int i = 0; i < bigKeys.length; i++) {
+            bigKeys[i] = keys[i % keys.length];
+        }
+
+        int[] order = sorter.sortedOrder(bigKeys);
+
+        for (int i = 1; i < order.length; i++) {
+            assertTrue(bigKeys[order[i - 1]] <= bigKeys[order[i]]);
+            if (bigKeys[order[i - 1]] == bigKeys[order[i]]) {
+                assertTrue(order[i - 1] < order[i]);
+            }
+        }
+    }
+
+    @Test
+    void testPriceKeys_DescendingWithNullsLast() {
+        BigDecimal[] prices = {new BigDecimal("10.50"), null, new BigDecimal("99"), new BigDecimal("10.5")};
+
+        int[] order = sorter.sortedOrder(SortKeys.priceKeys(prices, true));
+
+        assertArrayEquals(new int[]{2, 0, 3, 1}, order);
+    }
+
+    @Test
+    void testPriceKeys_FallsBackToRanksForSubCentPrices() {
+        BigDecimal[] prices = {new BigDecimal("1.001"), new BigDecimal("1.002"), new BigDecimal("1.0010")};
+
+        int[] order = sorter.sortedOrder(SortKeys.priceKeys(prices, false));
+
+        assertArrayEquals(new int[]{0, 2, 1}, order);
+    }
+
+    @Test
+    void testDateKey_NullsSortLastInBothDirections() {
+        LocalDate date = LocalDate.of(2020, 1, 1);
+
+        assertTrue(SortKeys.dateKey(date, true) < SortKeys.dateKey(null, true));
+        assertTrue(SortKeys.dateKey(date, false) < SortKeys.dateKey(null, false));
+        assertTrue(SortKeys.dateKey(date.plusDays(1), true) < SortKeys.dateKey(date, true));
+    }
+
+    @Test
+    void testReorder_AppliesPermutation() {
+        assertEquals(List.of("c", "a", "b"), KeySorter.reorder(List.of("a", "b", "c"), new int[]{2, 0, 1}));
+    }
+}
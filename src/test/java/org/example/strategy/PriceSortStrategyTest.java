@@ -110,4 +110,76 @@ class PriceSortStrategyTest {
         List<Car> result = strategy.sort(List.of(carA, carB));
         assertEquals(2, result.size());
     }
+
+    @Test
+    void testSortWithLimit_ReturnsMostExpensiveCars() {
+        List<Car> result = strategy.sort(List.of(carA, carB, carC, carWithoutPrice), 2);
+
+        assertEquals(2, result.size());
+        assertEquals("Ford", result.get(0).getBrand());
+        assertEquals("Honda", result.get(1).getBrand());
+    }
+
+    @Test
+    void testSortWithLimit_KeepsInputOrderForTies() {
+        Car sameAsA = new Car.Builder()
+                .brand("Toyota")
+                .model("Yaris")
+                .type("SEDAN")
+                .prices(Map.of("USD", new BigDecimal("15000.00")))
+                .build();
+
+        List<Car> cars = List.of(carA, carWithoutPrice, sameAsA, carB);
+        List<Car> full = strategy.sort(cars);
+        List<Car> top = strategy.sort(cars, 3);
+
+        assertEquals(full.subList(0, 3), top);
+        assertEquals("Corolla", top.get(1).getModel());
+        assertEquals("Yaris", top.get(2).getModel());
+    }
+
+    @Test
+    void testSortWithLimit_EnrichesOnlyWinners() {
+        strategy.sort(List.of(carA, carB, carC, carWithoutPrice), 1);
+
+        verify(brandRepository).findAllByBrandIn(Set.of("Ford"));
+    }
+
+    @Test
+    void testSortWithLimit_NullListReturnsEmpty() {
+        assertTrue(strategy.sort(null, 5).isEmpty());
+    }
+
+    @Test
+    void testOrder_MatchesSortIncludingTies() {
+        BrandRepository brands = new org.example.repository.InMemoryBrandRepository(List.of(
+                new CarBrand.Builder().brand("Toyota").releaseDate(LocalDate.of(2021, 1, 1)).build(),
+                new CarBrand.Builder().brand("Ford").releaseDate(LocalDate.of(2023, 1, 1)).build()));
+        String[] types = {"SUV", "sedan", "TRUCK", "VAN", null};
+        String[] brandNames = {"Toyota", "Ford", "Kia"};
+        String[] currencies = {"USD", "EUR", "JPY"};
+        List<Car> cars = new ArrayList<>();
+        Random random = new Random(48);
+        for (int i = 0; i < 300; i++) {
+            cars.add(i % 50 == 7 ? null : new Car.Builder()
+                    .type(types[random.nextInt(types.length)])
+                    .brand(brandNames[random.nextInt(brandNames.length)])
+                    .model("Model " + i)
+                    .prices(Map.of(currencies[random.nextInt(currencies.length)], BigDecimal.valueOf(random.nextInt(5) * 1000)))
+                    .build());
+        }
+        IncrementalSortStrategy incremental = new PriceSortStrategy(brands);
+
+        assertEquals(incremental.sort(cars), sortedByOrder(incremental, cars));
+    }
+
+    private static List<Car> sortedByOrder(IncrementalSortStrategy strategy, List<Car> cars) {
+        List<Car> sorted = new ArrayList<>(strategy.enrich(cars));
+        sorted.removeIf(Objects::isNull);
+        sorted.sort(strategy.order());
+        if (strategy.isReversed()) {
+            Collections.reverse(sorted);
+        }
+        return sorted;
+    }
 }
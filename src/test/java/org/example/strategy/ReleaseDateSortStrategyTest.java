@@ -6,10 +6,14 @@ import org.example.repository.BrandRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -108,4 +112,63 @@ class ReleaseDateSortStrategyTest {
         verify(brandRepository).findAllByBrandIn(Collections.emptySet());
     }
 
+
+    @Test
+    void testSortWithLimit_ReturnsNewestCarsEnriched() {
+        List<Car> sorted = strategy.sort(List.of(car1, car2, car3, carNoBrand), 2);
+
+        assertEquals(2, sorted.size());
+        assertEquals("Honda", sorted.get(0).getBrand());
+        assertEquals(LocalDate.of(2023, 7, 20), sorted.get(0).getCarBrand().getReleaseDate());
+        assertEquals("Toyota", sorted.get(1).getBrand());
+    }
+
+    @Test
+    void testSortWithLimit_MatchesFullSortPrefix() {
+        List<Car> cars = List.of(carNoBrand, car1, car2, car3);
+
+        List<Car> full = strategy.sort(cars);
+
+        for (int limit = 0; limit <= cars.size() + 1; limit++) {
+            assertEquals(full.subList(0, Math.min(limit, full.size())), strategy.sort(cars, limit));
+        }
+    }
+
+    @Test
+    void testSortWithLimit_NegativeLimitThrows() {
+        assertThrows(IllegalArgumentException.class, () -> strategy.sort(List.of(car1), -1));
+    }
+
+    @Test
+    void testOrder_MatchesSortIncludingTies() {
+        BrandRepository brands = new org.example.repository.InMemoryBrandRepository(List.of(
+                new CarBrand.Builder().brand("Toyota").releaseDate(LocalDate.of(2021, 1, 1)).build(),
+                new CarBrand.Builder().brand("Ford").releaseDate(LocalDate.of(2023, 1, 1)).build()));
+        String[] types = {"SUV", "sedan", "TRUCK", "VAN", null};
+        String[] brandNames = {"Toyota", "Ford", "Kia"};
+        String[] currencies = {"USD", "EUR", "JPY"};
+        List<Car> cars = new ArrayList<>();
+        Random random = new Random(48);
+        for (int i = 0; i < 300; i++) {
+            cars.add(i % 50 == 7 ? null : new Car.Builder()
+                    .type(types[random.nextInt(types.length)])
+                    .brand(brandNames[random.nextInt(brandNames.length)])
+                    .model("Model " + i)
+                    .prices(Map.of(currencies[random.nextInt(currencies.length)], BigDecimal.valueOf(random.nextInt(5) * 1000)))
+                    .build());
+        }
+        IncrementalSortStrategy incremental = new ReleaseDateSortStrategy(brands);
+
+        assertEquals(incremental.sort(cars), sortedByOrder(incremental, cars));
+    }
+
+    private static List<Car> sortedByOrder(IncrementalSortStrategy strategy, List<Car> cars) {
+        List<Car> sorted = new ArrayList<>(strategy.enrich(cars));
+        sorted.removeIf(Objects::isNull);
+        sorted.sort(strategy.order());
+        if (strategy.isReversed()) {
+            Collections.reverse(sorted);
+        }
+        return sorted;
+    }
 }
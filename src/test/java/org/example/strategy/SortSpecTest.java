@@ -0,0 +1,54 @@
+package org.example.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortSpecTest {
+
+    @Test
+    void testParse_MultipleKeysWithDirectionsAndCurrency() {
+        SortSpec spec = SortSpec.parse("brand asc, releaseDate desc, price:eur asc");
+
+        SortSpec expected = new SortSpec.Builder()
+                .ascending(SortField.BRAND)
+                .descending(SortField.RELEASE_DATE)
+                .ascending(SortField.PRICE, "EUR")
+                .build();
+        assertEquals(expected, spec);
+    }
+
+    @Test
+    void testParse_DefaultsToAscendingAndUsd() {
+        List<SortSpec.Key> keys = SortSpec.parse("price").getKeys();
+
+        assertEquals(1, keys.size());
+        assertEquals("USD", keys.get(0).getCurrency());
+        assertFalse(keys.get(0).isDescending());
+    }
+
+    @Test
+    void testParse_RejectsUnknownFieldsAndDirections() {
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.parse("color asc"));
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.parse("brand sideways"));
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.parse("brand:EUR asc"));
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.parse(""));
+    }
+
+    @Test
+    void testBuilder_RejectsCurrencyOnNonPriceFields() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SortSpec.Builder().ascending(SortField.BRAND, "EUR"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SortSpec.Builder().descending(SortField.RELEASE_DATE, "USD"));
+        assertEquals(List.of(SortField.PRICE), new SortSpec.Builder().descending(SortField.PRICE, "eur").build()
+                .getKeys().stream().map(SortSpec.Key::getField).toList());
+    }
+
+    @Test
+    void testBuild_RequiresAtLeastOneKey() {
+        assertThrows(IllegalArgumentException.class, () -> new SortSpec.Builder().build());
+    }
+}
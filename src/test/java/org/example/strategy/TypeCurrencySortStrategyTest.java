@@ -142,4 +142,94 @@ class TypeCurrencySortStrategyTest {
         assertEquals(1, sorted.size());
         assertEquals("Mazda", sorted.get(0).getBrand());
     }
+
+    @Test
+    void testSort_UsesConfiguredGroupOrder() {
+        TypeCurrencySortStrategy ordered = new TypeCurrencySortStrategy(
+                Map.of("SUV", "EUR", "SEDAN", "JPY", "TRUCK", "USD"),
+                List.of("sedan", "truck", "suv"),
+                true,
+                brandRepository,
+                new KeySorter()
+        );
+
+        List<Car> sorted = ordered.sort(List.of(suvCar, unknownCar, sedanCar, truckCar));
+
+        assertEquals(List.of("Toyota", "Ford", "BMW", "Hyundai"), sorted.stream().map(Car::getBrand).toList());
+    }
+
+    @Test
+    void testSort_UnmappedTypesFollowAlphabetically() {
+        Car wagon = new Car.Builder()
+                .type("wagon")
+                .brand("Volvo")
+                .model("V60")
+                .prices(Map.of("USD", BigDecimal.valueOf(45000)))
+                .build();
+
+        List<Car> sorted = strategy.sort(List.of(wagon, unknownCar, suvCar));
+
+        assertEquals(List.of("BMW", "Hyundai", "Volvo"), sorted.stream().map(Car::getBrand).toList());
+    }
+
+    @Test
+    void testSort_ParallelGroupsMatchSequentialResult() {
+        Random random = new Random(3);
+        String[] types = {"SUV", "SEDAN", "TRUCK", "VAN", "COUPE"};
+        String[] currencies = {"EUR", "JPY", "USD"};
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            cars.add(new Car.Builder()
+                    .type(types[random.nextInt(types.length)])
+                    .brand("BMW")
+                    .model("M" + i)
+                    .prices(Map.of(currencies[random.nextInt(currencies.length)], BigDecimal.valueOf(random.nextInt(500))))
+                    .build());
+        }
+        Map<String, String> mapping = Map.of("SUV", "EUR", "SEDAN", "JPY", "TRUCK", "USD");
+
+        try (KeySorter parallel = new KeySorter(1000, 4)) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                List<Car> expected = new TypeCurrencySortStrategy(mapping, ascending, brandRepository).sort(cars);
+                List<Car> actual = new TypeCurrencySortStrategy(mapping, ascending, brandRepository, parallel).sort(cars);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void testOrder_MatchesSortIncludingTies() {
+        BrandRepository brands = new org.example.repository.InMemoryBrandRepository(List.of(
+                new CarBrand.Builder().brand("Toyota").releaseDate(LocalDate.of(2021, 1, 1)).build(),
+                new CarBrand.Builder().brand("Ford").releaseDate(LocalDate.of(2023, 1, 1)).build()));
+        String[] types = {"SUV", "sedan", "TRUCK", "VAN", null};
+        String[] brandNames = {"Toyota", "Ford", "Kia"};
+        String[] currencies = {"USD", "EUR", "JPY"};
+        List<Car> cars = new ArrayList<>();
+        Random random = new Random(48);
+        for (int i = 0; i < 300; i++) {
+            cars.add(i % 50 == 7 ? null : new Car.Builder()
+                    .type(types[random.nextInt(types.length)])
+                    .brand(brandNames[random.nextInt(brandNames.length)])
+                    .model("Model " + i)
+                    .prices(Map.of(currencies[random.nextInt(currencies.length)], BigDecimal.valueOf(random.nextInt(5) * 1000)))
+                    .build());
+        }
+        IncrementalSortStrategy incremental = new TypeCurrencySortStrategy(brands);
+
+        assertEquals(incremental.sort(cars), sortedByOrder(incremental, cars));
+        IncrementalSortStrategy descending = new TypeCurrencySortStrategy(
+                Map.of("SUV", "EUR", "SEDAN", "JPY", "TRUCK", "USD"), false, brands);
+        assertEquals(descending.sort(cars), sortedByOrder(descending, cars));
+    }
+
+    private static List<Car> sortedByOrder(IncrementalSortStrategy strategy, List<Car> cars) {
+        List<Car> sorted = new ArrayList<>(strategy.enrich(cars));
+        sorted.removeIf(Objects::isNull);
+        sorted.sort(strategy.order());
+        if (strategy.isReversed()) {
+            Collections.reverse(sorted);
+        }
+        return sorted;
+    }
 }